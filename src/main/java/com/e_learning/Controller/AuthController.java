@@ -1,5 +1,6 @@
 package com.e_learning.Controller;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
 import org.modelmapper.ModelMapper;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,16 +27,25 @@ import com.e_learning.entities.OtpRequest;
 import com.e_learning.entities.User;
 import com.e_learning.exceptions.ApiException;
 import com.e_learning.exceptions.ResourceNotFoundException;
+import com.e_learning.exceptions.ServiceBusyException;
+import com.e_learning.payloads.ApiResponse;
 import com.e_learning.payloads.ForgetPasswordDto;
 import com.e_learning.payloads.JwtAuthRequest;
 import com.e_learning.payloads.JwtAuthResponse;
+import com.e_learning.payloads.RefreshTokenRequest;
 import com.e_learning.payloads.UserDto;
 import com.e_learning.repositories.UserRepo;
 import com.e_learning.security.CustomUserDetailService;
 import com.e_learning.security.JwtTokenHelper;
+import com.e_learning.security.RefreshTokenService;
+import com.e_learning.security.TokenDenylist;
 import com.e_learning.services.ForgetPasswordService;
 import com.e_learning.services.OtpRequestService;
 import com.e_learning.services.UserService;
+import com.e_learning.services.impl.LoginAttemptService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 
 import java.security.Principal;
 
@@ -67,20 +78,68 @@ public class AuthController {
 	 @Autowired
 	 private CustomUserDetailService customUserDetailService;
 
+	 @Autowired
+	 private RefreshTokenService refreshTokenService;
+
+	 @Autowired
+	 private LoginAttemptService loginAttemptService;
+
+	 @Autowired
+	 private TokenDenylist tokenDenylist;
+
 	 @PostMapping("/login")
-		public ResponseEntity<JwtAuthResponse> createToken(@RequestBody JwtAuthRequest request) throws Exception {
-			this.authenticate(request.getUsername(), request.getPassword());
+		public ResponseEntity<JwtAuthResponse> createToken(@RequestBody JwtAuthRequest request,
+				HttpServletRequest httpRequest) throws Exception {
+			// throttled users and IPs are turned away before any BCrypt work
+			long reservedAt = this.loginAttemptService.reserve(request.getUsername(), httpRequest.getRemoteAddr());
+			this.authenticate(request.getUsername(), request.getPassword(), httpRequest.getRemoteAddr(), reservedAt);
 			UserDetails userDetails = this.userDetailsService.loadUserByUsername(request.getUsername());
 			//UserDetails userd=this.userDetailsService.loadUserByUsername(request.getMobilenum());
 			String token = this.jwtTokenHelper.generateToken(userDetails);
 
 			JwtAuthResponse response = new JwtAuthResponse();
 			response.setToken(token);
+			response.setRefreshToken(this.refreshTokenService.issue(userDetails.getUsername()));
+			response.setUser(this.mapper.map((User) userDetails, UserDto.class));
+			return new ResponseEntity<JwtAuthResponse>(response, HttpStatus.OK);
+		}
+
+	 // exchange a refresh token for a new access token; the refresh token is rotated on every call
+	 @PostMapping("/refresh")
+		public ResponseEntity<JwtAuthResponse> refreshToken(@RequestBody RefreshTokenRequest request) {
+			String username = this.refreshTokenService.consume(request.getRefreshToken());
+			UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			String token = this.jwtTokenHelper.generateToken(userDetails);
+
+			JwtAuthResponse response = new JwtAuthResponse();
+			response.setToken(token);
+			response.setRefreshToken(this.refreshTokenService.issue(username));
 			response.setUser(this.mapper.map((User) userDetails, UserDto.class));
 			return new ResponseEntity<JwtAuthResponse>(response, HttpStatus.OK);
 		}
 
 
+	 // revokes the access token in the Authorization header, and the refresh token if one is sent
+	 @PostMapping("/logout")
+		public ResponseEntity<ApiResponse> logout(HttpServletRequest httpRequest,
+				@RequestBody(required = false) RefreshTokenRequest request) {
+			String requestToken = httpRequest.getHeader("Authorization");
+			if (requestToken == null || !requestToken.startsWith("Sandip ")) {
+				throw new ApiException("Jwt token is required !!");
+			}
+			String token = requestToken.substring(7);
+			Claims claims;
+			try {
+				claims = this.jwtTokenHelper.getVerifiedClaims(token);
+			} catch (JwtException | IllegalArgumentException e) {
+				throw new ApiException("Invalid or expired jwt token !!");
+			}
+			this.tokenDenylist.revoke(token, claims);
+			if (request != null) {
+				this.refreshTokenService.revoke(request.getRefreshToken());
+			}
+			return new ResponseEntity<ApiResponse>(new ApiResponse("Logged out Successfully", true), HttpStatus.OK);
+		}
 
 	
 //otp for registration
@@ -116,7 +175,8 @@ public class AuthController {
 
 	
 
-	private void authenticate(String username, String password) throws Exception {
+	// the attempt was already counted as a failure by reserve(); only a success takes it back
+	private void authenticate(String username, String password, String clientIp, long reservedAt) throws Exception {
 
 		UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(username,
 				password);
@@ -124,10 +184,15 @@ public class AuthController {
 		try {
 
 			this.authenticationManager.authenticate(authenticationToken);
+			this.loginAttemptService.recordSuccess(username, clientIp, reservedAt);
 
 		} catch (BadCredentialsException e) {
-			System.out.println("Invalid Detials !!");
 			throw new ApiException("Invalid username or password !!");
+		} catch (AuthenticationException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			this.loginAttemptService.release(username, clientIp, reservedAt);
+			throw e;
 		}
 
 	}
@@ -146,6 +211,8 @@ public class AuthController {
         try {
         	forgetPasswordService.updatePassword(request.getPhnum(), request.getOtp(), request.getNewPassword());
             return ResponseEntity.ok("Password updated successfully");
+        } catch (ServiceBusyException ex) {
+            throw ex; // answered with 503 by GlobalExceptionHandler, not as a bad request
         } catch (RuntimeException ex) {
             return ResponseEntity.badRequest().body(ex.getMessage());
         }
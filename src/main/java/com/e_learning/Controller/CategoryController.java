@@ -24,13 +24,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.e_learning.payloads.ApiResponse;
 import com.e_learning.payloads.CategoryDto;
+import com.e_learning.payloads.TrendingDto;
 
 import com.e_learning.services.CategoryService;
 import com.e_learning.services.FileService;
+import com.e_learning.services.impl.ResourceVersions;
+import com.e_learning.services.impl.TrendingTracker;
+import com.e_learning.services.impl.ResourceVersions.Resource;
+import com.e_learning.services.impl.ResourceVersions.Validator;
 
 
 
@@ -46,6 +52,12 @@ public class CategoryController {
 	@Autowired
 	private FileService fileService;
 
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	@Autowired
+	private TrendingTracker trendingTracker;
+
 	@Value("${project.image}")
 	private String path;
 	// create
@@ -76,6 +88,13 @@ public class CategoryController {
 	}
 	// get
 
+	// hottest categories by decayed reads, answers and approved payments, straight from memory
+	@GetMapping("/trending")
+	public ResponseEntity<List<TrendingDto>> getTrendingCategories(
+			@RequestParam(value = "limit", defaultValue = "10", required = false) Integer limit) {
+		return ResponseEntity.ok(this.trendingTracker.topCategories(limit));
+	}
+
 	@GetMapping("/{catId}")
 	public ResponseEntity<CategoryDto> getCategory(@PathVariable Integer catId) {
 
@@ -87,13 +106,22 @@ public class CategoryController {
 
 	// get all
 	@GetMapping("/")
-	public ResponseEntity<List<CategoryDto>> getCategories() {
+	public ResponseEntity<List<CategoryDto>> getCategories(WebRequest request) {
+		// answers 304 from the version counter alone, before any query
+		Validator validator = this.resourceVersions.validator(Resource.CATEGORIES);
+		if (request.checkNotModified(validator.getEtag(), validator.getLastModified())) {
+			return null;
+		}
 		List<CategoryDto> categories = this.categoryService.getCategories();
 		return ResponseEntity.ok(categories);
 	}
 
 	@GetMapping("/latest")
-    public ResponseEntity<List<CategoryDto>> getLatestCategories() {
+    public ResponseEntity<List<CategoryDto>> getLatestCategories(WebRequest request) {
+		Validator validator = this.resourceVersions.validator(Resource.CATEGORIES);
+		if (request.checkNotModified(validator.getEtag(), validator.getLastModified())) {
+			return null;
+		}
         List<CategoryDto> latestCategories = categoryService.getLatestCategories();
         return ResponseEntity.ok(latestCategories);
     }
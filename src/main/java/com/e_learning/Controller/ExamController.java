@@ -30,6 +30,7 @@ import com.e_learning.entities.User;
 import com.e_learning.payloads.ApiResponse;
 
 import com.e_learning.payloads.ExamDto;
+import com.e_learning.payloads.ExamSummaryDto;
 import com.e_learning.payloads.IncomeDto;
 import com.e_learning.services.ExamService;
 import com.e_learning.services.FileService;
@@ -75,6 +76,28 @@ public class ExamController {
 
 	}
 	
+	// summary listings: no nested user or category objects
+	@GetMapping("/user/{userId}/exams/summary")
+	public ResponseEntity<List<ExamSummaryDto>> getExamSummariesByUser(@PathVariable Integer userId) {
+		return ResponseEntity.ok(this.examService.getExamSummariesByUser(userId));
+	}
+
+	@GetMapping("/category/{categoryId}/exams/summary")
+	public ResponseEntity<List<ExamSummaryDto>> getExamSummariesByCategory(@PathVariable Integer categoryId) {
+		return ResponseEntity.ok(this.examService.getExamSummariesByCategory(categoryId));
+	}
+
+	@PreAuthorize("hasRole('ADMIN') or hasRole('SUBSCRIBED')")
+	@GetMapping("exams/user/{userId}/summary")
+	public ResponseEntity<List<ExamSummaryDto>> getExamSummariesByUserFaculty(@PathVariable Integer userId) {
+		return ResponseEntity.ok(this.examService.getExamSummariesByUserFaculty(userId));
+	}
+
+	@GetMapping("/exams/summary")
+	public ResponseEntity<List<ExamSummaryDto>> getExamSummaries() {
+		return ResponseEntity.ok(this.examService.getExamSummaries());
+	}
+
 	//Get Exams BY Category
 	@GetMapping("/category/{categoryId}/exams")
 	public ResponseEntity<List<ExamDto>> getExamsByCategory(@PathVariable Integer categoryId) {
@@ -15,12 +15,17 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.e_learning.entities.User;
 import com.e_learning.payloads.LiveStreamingDto;
+import com.e_learning.payloads.LiveStreamingSummaryDto;
 import com.e_learning.payloads.PostDto;
 import com.e_learning.payloads.UserDto;
 import com.e_learning.services.LiveStreamingService;
+import com.e_learning.services.impl.ResourceVersions;
+import com.e_learning.services.impl.ResourceVersions.Resource;
+import com.e_learning.services.impl.ResourceVersions.Validator;
 import com.e_learning.services.impl.RateLimitingService;
 
 
@@ -33,6 +38,9 @@ public class LiveStreamingController {
 	
 	 @Autowired
 	    private RateLimitingService rateLimitingService;
+
+	@Autowired
+	private ResourceVersions resourceVersions;
 //	create
 	@PostMapping("/user/{userId}/category/{categoryId}/lives")
 	public ResponseEntity<LiveStreamingDto> createLiveStreaming(@RequestBody LiveStreamingDto liveDto, @PathVariable Integer userId,
@@ -70,10 +78,32 @@ public class LiveStreamingController {
 		    }
 		
 		
+		// summary listings: no nested user or category objects
+		@GetMapping("/category/{categoryId}/lives/summary")
+		public ResponseEntity<List<LiveStreamingSummaryDto>> getLiveSummariesByCategory(@PathVariable Integer categoryId) {
+			return ResponseEntity.ok(this.liveService.getLiveSummariesByCategory(categoryId));
+		}
+
+		@PreAuthorize("hasRole('ADMIN') or hasRole('SUBSCRIBED')")
+		@GetMapping("lives/user/{userId}/summary")
+		public ResponseEntity<List<LiveStreamingSummaryDto>> getLiveSummariesByUserFaculty(@PathVariable Integer userId) {
+			return ResponseEntity.ok(this.liveService.getLiveSummariesByUserFaculty(userId));
+		}
+
+		@GetMapping("/lives/summary")
+		public ResponseEntity<List<LiveStreamingSummaryDto>> getAllLiveSummaries() {
+			 rateLimitingService.checkRateLimit("test-api-key");
+			return ResponseEntity.ok(this.liveService.getAllLiveSummaries());
+		}
+
 		// GET - all live get
 		@GetMapping("/lives")
-		public ResponseEntity<List<LiveStreamingDto>> getAllLives() {
+		public ResponseEntity<List<LiveStreamingDto>> getAllLives(WebRequest request) {
 			 rateLimitingService.checkRateLimit("test-api-key");
+			Validator validator = this.resourceVersions.validator(Resource.LIVES, Resource.CATEGORIES, Resource.USERS);
+			if (request.checkNotModified(validator.getEtag(), validator.getLastModified())) {
+				return null;
+			}
 			return ResponseEntity.ok(this.liveService.getAllLives());
 		}
 		
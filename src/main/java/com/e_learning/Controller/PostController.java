@@ -1,16 +1,21 @@
 package com.e_learning.Controller;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.io.FilenameUtils;
 import org.hibernate.engine.jdbc.StreamUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,19 +28,34 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.e_learning.config.AppConstants;
+import com.e_learning.config.FieldSelection;
 import com.e_learning.entities.User;
 import com.e_learning.payloads.ApiResponse;
+import com.e_learning.payloads.CategoryDto;
 import com.e_learning.payloads.ExamDto;
 import com.e_learning.payloads.PostDto;
+import com.e_learning.payloads.PostImportResponse;
 import com.e_learning.payloads.PostResponse;
+import com.e_learning.payloads.PostRevisionDiffDto;
+import com.e_learning.payloads.PostRevisionDto;
+import com.e_learning.payloads.PostSummaryDto;
+import com.e_learning.payloads.RenderedContent;
+import com.e_learning.payloads.TrendingDto;
 import com.e_learning.services.FileService;
 import com.e_learning.services.PostService;
+import com.e_learning.services.impl.PostViewCounter;
+import com.e_learning.services.impl.TrendingTracker;
+import com.e_learning.services.impl.ResourceVersions;
+import com.e_learning.services.impl.ResourceVersions.Resource;
+import com.e_learning.services.impl.ResourceVersions.Validator;
 
 
 
@@ -49,6 +69,19 @@ public class PostController {
 	@Autowired
 	private FileService fileService;
 
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	@Autowired
+	private PostViewCounter postViewCounter;
+
+	@Autowired
+	private TrendingTracker trendingTracker;
+
+	// what PostService.getAllPostListing fills in
+	private static final Set<String> LISTING_FIELDS = Set.of("postId", "title", "imageName", "videoLink",
+			"addedDate", "mentor", "views", "category.categoryId", "category.categoryTitle", "user.id", "user.name");
+
 	@Value("${project.image}")
 	private String path;
 	
@@ -72,6 +105,22 @@ public class PostController {
 		return new ResponseEntity<PostDto>(createPost, HttpStatus.CREATED);
 	}
 
+	// bulk create: body is a JSON array of posts or a CSV with a header line, read as a stream
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping(value = "/user/{userId}/category/{categoryId}/posts/import",
+			consumes = { MediaType.APPLICATION_JSON_VALUE, "text/csv" })
+	public ResponseEntity<PostImportResponse> importPosts(@PathVariable Integer userId,
+			@PathVariable Integer categoryId, HttpServletRequest request) throws IOException {
+
+	    User userDetails = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+	    if (userDetails.getId() != userId) {
+	        return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+	    }
+		boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+		PostImportResponse report = this.postService.importPosts(userId, categoryId, request.getInputStream(), csv);
+		return new ResponseEntity<PostImportResponse>(report, HttpStatus.OK);
+	}
+
 	// get by user
 
 	@GetMapping("/user/{userId}/posts")
@@ -82,6 +131,24 @@ public class PostController {
 
 	}
 
+	// summary listings: listing columns only, full post via /posts/{postId}
+	@GetMapping("/user/{userId}/posts/summary")
+	public ResponseEntity<List<PostSummaryDto>> getPostSummariesByUser(@PathVariable Integer userId) {
+		return ResponseEntity.ok(this.postService.getPostSummariesByUser(userId));
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/category/{categoryId}/posts/summary")
+	public ResponseEntity<List<PostSummaryDto>> getPostSummariesByCategory(@PathVariable Integer categoryId) {
+		return ResponseEntity.ok(this.postService.getPostSummariesByCategory(categoryId));
+	}
+
+	@PreAuthorize("hasRole('ADMIN') or hasRole('SUBSCRIBED')")
+	@GetMapping("posts/user/{userId}/summary")
+	public ResponseEntity<List<PostSummaryDto>> getPostSummariesByUserFaculty(@PathVariable Integer userId) {
+		return ResponseEntity.ok(this.postService.getPostSummariesByUserFaculty(userId));
+	}
+
 	// get by category
 	@PreAuthorize("hasRole('ADMIN')")
 	@GetMapping("/category/{categoryId}/posts")
@@ -94,16 +161,16 @@ public class PostController {
 //	get Posts By userFaculty
 	@PreAuthorize("hasRole('ADMIN') or hasRole('SUBSCRIBED')")
 	 @GetMapping("posts/user/{userId}")
-	    public ResponseEntity<List<PostDto>> getPostsByUserFaculty(@PathVariable Integer userId) {
-	        List<PostDto> posts = this.postService.getPostsByUserFaculty(userId);
+	    public ResponseEntity<List<PostSummaryDto>> getPostsByUserFaculty(@PathVariable Integer userId) {
+	        List<PostSummaryDto> posts = this.postService.getPostsByUserFaculty(userId);
 	        return new ResponseEntity<>(posts, HttpStatus.OK);
 	    }
 	
 //	get Posts By userFaculty
 	@PreAuthorize("hasRole('ADMIN') or hasRole('SUBSCRIBED')")
 	@GetMapping("postss/user/{userId}/faculty/{faculty}")
-	public ResponseEntity<List<PostDto>> getPostssByUserFaculty(@PathVariable Integer userId, @PathVariable String faculty) {
-	    List<PostDto> posts = this.postService.getPostssByUserFacult(userId, faculty);
+	public ResponseEntity<List<PostSummaryDto>> getPostssByUserFaculty(@PathVariable Integer userId, @PathVariable String faculty) {
+	    List<PostSummaryDto> posts = this.postService.getPostssByUserFacult(userId, faculty);
 	    return new ResponseEntity<>(posts, HttpStatus.OK);
 	}
 
@@ -121,18 +188,48 @@ public class PostController {
 			@RequestParam(value = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
 			@RequestParam(value = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
 			@RequestParam(value = "sortBy", defaultValue = AppConstants.SORT_BY, required = false) String sortBy,
-			@RequestParam(value = "sortDir", defaultValue = AppConstants.SORT_DIR, required = false) String sortDir) {
-
-		PostResponse postResponse = this.postService.getAllPost(pageNumber, pageSize, sortBy, sortDir);
+			@RequestParam(value = "sortDir", defaultValue = AppConstants.SORT_DIR, required = false) String sortDir,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "withTotal", defaultValue = "false", required = false) boolean withTotal,
+			@RequestParam(value = "fields", required = false) String fields,
+			WebRequest request) {
+
+		// every post carries its category, author and view count, so a change to any of them also changes this listing
+		Validator validator = this.resourceVersions.validator(Resource.POSTS, Resource.CATEGORIES, Resource.USERS,
+				Resource.POST_VIEWS);
+		if (request.checkNotModified(validator.getEtag(), validator.getLastModified())) {
+			return null;
+		}
+
+		// ?cursor= (empty for the first page) switches to keyset pagination; pageNumber is ignored then
+		if (cursor != null) {
+			PostResponse postResponse = this.postService.getAllPostByCursor(cursor, pageSize, sortBy, sortDir, withTotal);
+			return new ResponseEntity<PostResponse>(postResponse, HttpStatus.OK);
+		}
+		// ?fields= within the listing columns is served without loading content or the full graphs
+		PostResponse postResponse = FieldSelection.parse(fields).isWithin(LISTING_FIELDS)
+				? this.postService.getAllPostListing(pageNumber, pageSize, sortBy, sortDir)
+				: this.postService.getAllPost(pageNumber, pageSize, sortBy, sortDir);
 		return new ResponseEntity<PostResponse>(postResponse, HttpStatus.OK);
 	}
 
+	// hottest posts by decayed reads, straight from memory
+	@GetMapping("/posts/trending")
+	public ResponseEntity<List<TrendingDto>> getTrendingPosts(
+			@RequestParam(value = "limit", defaultValue = "10", required = false) Integer limit) {
+		return ResponseEntity.ok(this.trendingTracker.topPosts(limit));
+	}
+
 	// get post details by id
 	@PreAuthorize("hasRole('ADMIN')")
 	@GetMapping("/posts/{postId}")
 	public ResponseEntity<PostDto> getPostById(@PathVariable Integer postId) {
 
 		PostDto postDto = this.postService.getPostById(postId);
+		this.postViewCounter.record(postId);
+		CategoryDto category = postDto.getCategory();
+		this.trendingTracker.postRead(postId, postDto.getTitle(), category == null ? null : category.getCategoryId(),
+				category == null ? null : category.getCategoryTitle());
 		return new ResponseEntity<PostDto>(postDto, HttpStatus.OK);
 
 	}
@@ -157,8 +254,10 @@ public class PostController {
 
 	// search
 	@GetMapping("/posts/search/{keywords}")
-	public ResponseEntity<List<PostDto>> searchPostByTitle(@PathVariable("keywords") String keywords) {
-		List<PostDto> result = this.postService.searchPosts(keywords);
+	public ResponseEntity<List<PostDto>> searchPostByTitle(@PathVariable("keywords") String keywords,
+			@RequestParam(value = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
+			@RequestParam(value = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize) {
+		List<PostDto> result = this.postService.searchPosts(keywords, pageNumber, pageSize);
 		return new ResponseEntity<List<PostDto>>(result, HttpStatus.OK);
 	}
 
@@ -188,6 +287,88 @@ public class PostController {
         return new ResponseEntity<>(updatedPost, HttpStatus.OK);
     }
 
+    // revision history, newest first
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/posts/{postId}/revisions")
+    public ResponseEntity<List<PostRevisionDto>> getPostRevisions(@PathVariable Integer postId) {
+        return ResponseEntity.ok(this.postService.getPostRevisions(postId));
+    }
+
+    // ?from=3 compares with the latest revision, ?from=3&to=5 with revision 5
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/posts/{postId}/revisions/diff")
+    public ResponseEntity<PostRevisionDiffDto> diffPostRevisions(@PathVariable Integer postId,
+            @RequestParam("from") Integer from,
+            @RequestParam(value = "to", required = false) Integer to) {
+        return ResponseEntity.ok(this.postService.diffPostRevisions(postId, from, to));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/posts/{postId}/revisions/{revision}/restore")
+    public ResponseEntity<PostDto> restorePostRevision(@PathVariable Integer postId, @PathVariable Integer revision) {
+        return ResponseEntity.ok(this.postService.restorePostRevision(postId, revision));
+    }
+
+    // rendered post body as HTML; stored gzip bytes go out unchanged when the client accepts gzip
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUBSCRIBED')")
+    @GetMapping("/posts/{postId}/content")
+    public void downloadPostContent(@PathVariable Integer postId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request, HttpServletResponse response) throws IOException {
+        RenderedContent rendered = this.postService.getRenderedContent(postId);
+        this.postViewCounter.record(postId);
+        this.trendingTracker.postRead(postId, rendered.getTitle(), rendered.getCategoryId(),
+                rendered.getCategoryTitle());
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // the content hash changes with every edit, so it is a strong validator on its own;
+        // a strong ETag names exact bytes, so the gzip representation gets its own
+        boolean gzipped = acceptsGzip(acceptEncoding);
+        String etag = "\"" + rendered.getContentHash() + (gzipped ? "-gz" : "") + "\"";
+        if (request.checkNotModified(etag)) {
+            return;
+        }
+        byte[] gzip = rendered.getGzip();
+        response.setContentType("text/html;charset=UTF-8");
+        // sanitised already; the sandbox stays as a second line of defence
+        response.setHeader("Content-Security-Policy", "sandbox");
+        if (gzipped) {
+            // a Content-Encoding already set also keeps server compression from compressing it again
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(gzip.length);
+            response.getOutputStream().write(gzip);
+            return;
+        }
+        try (InputStream content = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            StreamUtils.copy(content, response.getOutputStream());
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            // "gzip;q=0" means not acceptable
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.matches("(?i)q\\s*=\\s*0(\\.0{0,3})?")) {
+                    refused = true;
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     //method to serve files
     @GetMapping(value = "/post/image/{imageName}",produces = MediaType.IMAGE_JPEG_VALUE)
     public void downloadImage(
@@ -213,10 +394,16 @@ public class PostController {
 //        StreamUtils.copy(resource,response.getOutputStream())   ;
 //
 //    }
+    //Get Post summaries by category id
+    @GetMapping("/category/{categoryId}/summary")
+    public ResponseEntity<List<PostSummaryDto>> getPostSummariesByCategoryId(@PathVariable Integer categoryId) {
+        return ResponseEntity.ok(postService.getPostSummariesByCategory(categoryId));
+    }
+
     //Get Posts by category id
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<PostDto>> getPostsByCategoryId(@PathVariable Integer categoryId) {
-        List<PostDto> posts = postService.getPostsByCategoryId(categoryId);
+    public ResponseEntity<List<PostSummaryDto>> getPostsByCategoryId(@PathVariable Integer categoryId) {
+        List<PostSummaryDto> posts = postService.getPostsByCategoryId(categoryId);
         return ResponseEntity.ok(posts);
     }
     
@@ -0,0 +1,30 @@
+package com.e_learning.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.e_learning.entities.User;
+import com.e_learning.payloads.SyncResponse;
+import com.e_learning.services.SyncService;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+public class SyncController {
+
+	@Autowired
+	private SyncService syncService;
+
+	// app launch: ?since=<token from the last call>, or no token for everything
+	@PreAuthorize("isAuthenticated()")
+	@GetMapping
+	public ResponseEntity<SyncResponse> sync(@RequestParam(value = "since", required = false) String since) {
+		User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+		return ResponseEntity.ok(this.syncService.sync(user.getId(), since));
+	}
+}
@@ -0,0 +1,61 @@
+package com.e_learning.Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.e_learning.payloads.ApiResponse;
+import com.e_learning.payloads.StageTimingDto;
+import com.e_learning.tracing.Stage;
+import com.e_learning.tracing.StageHistogram;
+import com.e_learning.tracing.StageTracer;
+
+@RestController
+@RequestMapping("/api/v1/trace")
+public class TraceController {
+
+	@Autowired
+	private StageTracer stageTracer;
+
+	// GET - per-stage request timings since startup (or the last reset)
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/stages")
+	public ResponseEntity<List<StageTimingDto>> getStageTimings() {
+		List<StageTimingDto> timings = new ArrayList<>();
+		for (Map.Entry<Stage, StageHistogram> entry : this.stageTracer.getHistograms().entrySet()) {
+			StageHistogram histogram = entry.getValue();
+			long count = histogram.getCount();
+			StageTimingDto dto = new StageTimingDto();
+			dto.setStage(entry.getKey().name());
+			dto.setCount(count);
+			dto.setMeanMs(count == 0 ? 0 : toMillis(histogram.getTotalNanos() / count));
+			dto.setP50Ms(toMillis(histogram.percentile(50)));
+			dto.setP90Ms(toMillis(histogram.percentile(90)));
+			dto.setP99Ms(toMillis(histogram.percentile(99)));
+			dto.setMaxMs(toMillis(histogram.getMaxNanos()));
+			timings.add(dto);
+		}
+		return ResponseEntity.ok(timings);
+	}
+
+	// DELETE - start collecting from scratch
+	@PreAuthorize("hasRole('ADMIN')")
+	@DeleteMapping("/stages")
+	public ResponseEntity<ApiResponse> resetStageTimings() {
+		this.stageTracer.reset();
+		return new ResponseEntity<ApiResponse>(new ApiResponse("Stage timings reset", true), HttpStatus.OK);
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
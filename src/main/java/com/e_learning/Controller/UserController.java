@@ -80,6 +80,14 @@ public class UserController {
 		return new ResponseEntity<ApiResponse>(new ApiResponse("User deleted Successfully", true), HttpStatus.OK);
 	}
 
+	// POST - force logout: revokes all of the user's tokens
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping("/{userId}/logout")
+	public ResponseEntity<ApiResponse> forceLogout(@PathVariable("userId") Integer uid) {
+		this.userService.forceLogout(uid);
+		return new ResponseEntity<ApiResponse>(new ApiResponse("User logged out Successfully", true), HttpStatus.OK);
+	}
+
 	// GET - user get
 	@PreAuthorize("hasRole('ADMIN')")
 	@GetMapping("/")
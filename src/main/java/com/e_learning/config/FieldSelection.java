@@ -0,0 +1,113 @@
+package com.e_learning.config;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+
+/**
+ * A parsed {@code ?fields=} list such as {@code title,category.categoryTitle,user.name}, applied
+ * as a Jackson property filter while the response is written. A path keeps that property with
+ * everything under it, and the objects on the way to it. Paths are relative to each DTO; for a
+ * page wrapper they are relative to the items and the page metadata is always kept.
+ * Unknown paths select nothing rather than failing.
+ */
+public class FieldSelection extends SimpleBeanPropertyFilter {
+
+	public static final String FILTER_ID = "fields";
+
+	private static final FieldSelection ALL = new FieldSelection(Collections.emptySet(), null);
+
+	// requested paths
+	private final Set<String> selected;
+
+	// requested paths and every object on the way to one of them
+	private final Set<String> onPath = new HashSet<>();
+
+	// property of a page wrapper holding the items, or null
+	private final String itemsProperty;
+
+	private FieldSelection(Set<String> selected, String itemsProperty) {
+		this.selected = selected;
+		this.itemsProperty = itemsProperty;
+		for (String path : selected) {
+			for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+				this.onPath.add(path.substring(0, dot));
+			}
+			this.onPath.add(path);
+		}
+	}
+
+	public static FieldSelection parse(String fields) {
+		if (fields == null || fields.isBlank()) {
+			return ALL;
+		}
+		Set<String> selected = new HashSet<>();
+		for (String field : fields.split(",")) {
+			String path = field.trim();
+			if (!path.isEmpty()) {
+				selected.add(path);
+			}
+		}
+		return selected.isEmpty() ? ALL : new FieldSelection(selected, null);
+	}
+
+	public FieldSelection forItemsOf(String itemsProperty) {
+		return isAll() ? this : new FieldSelection(this.selected, itemsProperty);
+	}
+
+	public boolean isAll() {
+		return this.selected.isEmpty();
+	}
+
+	// true when every requested path is one of the given leaf paths, so a narrower query can serve it
+	public boolean isWithin(Set<String> paths) {
+		return !isAll() && paths.containsAll(this.selected);
+	}
+
+	@Override
+	public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+			throws Exception {
+		if (isAll() || includes(path(gen.getOutputContext(), writer.getName()))) {
+			writer.serializeAsField(pojo, gen, provider);
+		} else if (!gen.canOmitFields()) {
+			writer.serializeAsOmittedField(pojo, gen, provider);
+		}
+	}
+
+	private boolean includes(String path) {
+		if (this.itemsProperty != null) {
+			// page metadata, and the items list itself
+			if (!path.startsWith(this.itemsProperty + ".")) {
+				return true;
+			}
+			path = path.substring(this.itemsProperty.length() + 1);
+		}
+		if (this.onPath.contains(path)) {
+			return true;
+		}
+		// below a selected object everything is kept
+		for (int dot = path.indexOf('.'); dot > 0; dot = path.indexOf('.', dot + 1)) {
+			if (this.selected.contains(path.substring(0, dot))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// dotted property path of the field about to be written; list positions do not count
+	private static String path(JsonStreamContext context, String name) {
+		StringBuilder path = new StringBuilder(name);
+		for (JsonStreamContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+			if (parent.inObject() && parent.getCurrentName() != null) {
+				path.insert(0, '.').insert(0, parent.getCurrentName());
+			}
+		}
+		return path.toString();
+	}
+}
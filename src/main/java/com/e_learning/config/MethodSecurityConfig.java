@@ -0,0 +1,19 @@
+package com.e_learning.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.AccessDecisionManager;
+import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
+import org.springframework.security.config.annotation.method.configuration.GlobalMethodSecurityConfiguration;
+
+import com.e_learning.security.CachingAccessDecisionManager;
+
+@Configuration
+@EnableGlobalMethodSecurity(prePostEnabled = true)
+public class MethodSecurityConfig extends GlobalMethodSecurityConfiguration {
+
+	// role-only @PreAuthorize checks are evaluated once per role combination and then looked up
+	@Override
+	protected AccessDecisionManager accessDecisionManager() {
+		return new CachingAccessDecisionManager(super.accessDecisionManager());
+	}
+}
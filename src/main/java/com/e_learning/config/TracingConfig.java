@@ -0,0 +1,29 @@
+package com.e_learning.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.e_learning.tracing.StageTracer;
+import com.e_learning.tracing.TimedJacksonHttpMessageConverter;
+
+@Configuration
+public class TracingConfig implements WebMvcConfigurer {
+
+	@Autowired
+	private StageTracer stageTracer;
+
+	// swap the JSON converter for one that times serialization; everything else is left as configured
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.replaceAll(converter -> converter instanceof MappingJackson2HttpMessageConverter
+				&& !(converter instanceof TimedJacksonHttpMessageConverter)
+						? new TimedJacksonHttpMessageConverter(
+								((MappingJackson2HttpMessageConverter) converter).getObjectMapper(), this.stageTracer)
+						: converter);
+	}
+}
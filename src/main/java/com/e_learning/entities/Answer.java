@@ -8,10 +8,17 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
 @Entity
+// the answer's exam is mapped with its own category, so that is joined as well
+@NamedEntityGraph(name = "Answer.listing", attributeNodes = { @NamedAttributeNode("user"),
+		@NamedAttributeNode(value = "exam", subgraph = "exam") }, subgraphs = @NamedSubgraph(name = "exam",
+				attributeNodes = { @NamedAttributeNode("category"), @NamedAttributeNode("user") }))
 @NoArgsConstructor
 @Data
 public class Answer {
@@ -17,6 +17,8 @@ import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.validation.constraints.NotBlank;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -44,6 +46,11 @@ public class Category {
 	 
 	 private LocalDateTime addedDate;
 
+	// set by Hibernate on every insert and update; the watermark column of /sync
+	@UpdateTimestamp
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
 	 @NotBlank(message = "subject price is required")
 	private String price;
 	
@@ -0,0 +1,44 @@
+package com.e_learning.entities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip codec for large text columns. The stored bytes are a complete gzip stream,
+ * so they can be sent unchanged to a client that accepts {@code Content-Encoding: gzip}.
+ */
+public final class CompressedText {
+
+	private CompressedText() {
+	}
+
+	public static byte[] gzip(String text) {
+		if (text == null) {
+			return null;
+		}
+		byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+		ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(raw);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	public static String gunzip(byte[] compressed) {
+		if (compressed == null) {
+			return null;
+		}
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+			return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
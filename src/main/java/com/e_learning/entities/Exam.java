@@ -3,18 +3,25 @@ package com.e_learning.entities;
 import java.time.LocalDateTime;
 import java.util.Date;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+
+import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
 @Entity
+@NamedEntityGraph(name = "Exam.listing", attributeNodes = { @NamedAttributeNode("user"),
+		@NamedAttributeNode("category") })
 @Data
 @NoArgsConstructor
 public class Exam {
@@ -28,6 +35,11 @@ public class Exam {
 	    private String imageName;
 	    
 	    private LocalDateTime addedDate;
+
+	    // set by Hibernate on every insert and update; the watermark column of /sync
+	    @UpdateTimestamp
+	    @Column(name = "updated_at")
+	    private LocalDateTime updatedAt;
 	    
 	    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
 	    private String  deadline;
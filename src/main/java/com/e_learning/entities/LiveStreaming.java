@@ -2,17 +2,24 @@ package com.e_learning.entities;
 
 import java.time.LocalDateTime;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+
+import org.hibernate.annotations.UpdateTimestamp;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@NamedEntityGraph(name = "LiveStreaming.listing", attributeNodes = { @NamedAttributeNode("user"),
+		@NamedAttributeNode("category") })
 @Data
 @NoArgsConstructor
 public class LiveStreaming {
@@ -27,6 +34,11 @@ public class LiveStreaming {
 	private String startingTime;
 	
 	private String streamlink;
+
+	// set by Hibernate on every insert and update; the watermark column of /sync
+	@UpdateTimestamp
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
 	
 	   @ManyToOne
 	    @JoinColumn(name = "category_id")
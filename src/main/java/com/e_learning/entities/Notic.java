@@ -7,10 +7,12 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Lob;
 import javax.persistence.Table;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "notics")
@@ -22,12 +24,25 @@ public class Notic {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer noticId;
 
+	// rows written before content was compressed; new writes leave this null
 	@Column(length = 1000000000)
     private String content;
+
+	@Lob
+	@Column(name = "content_gz", columnDefinition = "LONGBLOB")
+	@ToString.Exclude
+	private byte[] contentGzip;
 	
 	  private LocalDateTime addedDate;
 	  
 	  private String imageName;
-	  
-	  
+
+	public String getContent() {
+		return this.contentGzip != null ? CompressedText.gunzip(this.contentGzip) : this.content;
+	}
+
+	public void setContent(String content) {
+		this.contentGzip = CompressedText.gzip(content);
+		this.content = null;
+	}
 }
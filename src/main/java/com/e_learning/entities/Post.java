@@ -8,11 +8,22 @@ import javax.persistence.*;
 
 
 
+import org.hibernate.annotations.UpdateTimestamp;
+
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "posts")
+// listings map user and category into every DTO, so they are joined instead of selected per row
+@NamedEntityGraph(name = "Post.listing", attributeNodes = { @NamedAttributeNode("user"),
+        @NamedAttributeNode("category") })
+@Table(name = "posts", indexes = {
+        // seek indexes for cursor pagination on (sort key, postId)
+        @Index(name = "idx_posts_added_date_id", columnList = "addedDate, postId"),
+        @Index(name = "idx_posts_title_id", columnList = "post_title, postId"),
+        // delta sync: changed posts of a client's categories
+        @Index(name = "idx_posts_category_updated", columnList = "category_id, updated_at") })
 @Data
 @NoArgsConstructor
 public class Post {
@@ -24,14 +35,26 @@ public class Post {
     @Column(name = "post_title", length = 100, nullable = false)
     private String title;
 
+    // rows written before content was compressed; new writes leave this null
     @Column(length = 1000000000)
     private String content;
 
+    // gzip of the lesson body, sent as-is to clients that accept gzip
+    @Lob
+    @Column(name = "content_gz", columnDefinition = "LONGBLOB")
+    @ToString.Exclude
+    private byte[] contentGzip;
+
     private String imageName;
     
     private String videoLink;
 
     private LocalDateTime addedDate;
+
+    // set by Hibernate on every insert and update; the watermark column of /sync
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
     
     private String mentor;
     
@@ -45,6 +68,13 @@ public class Post {
 
     @ManyToOne
     private User user;
-    
-   
+
+    public String getContent() {
+        return this.contentGzip != null ? CompressedText.gunzip(this.contentGzip) : this.content;
+    }
+
+    public void setContent(String content) {
+        this.contentGzip = CompressedText.gzip(content);
+        this.content = null;
+    }
 }
@@ -0,0 +1,32 @@
+package com.e_learning.entities;
+
+import javax.persistence.*;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * The sanitised, rendered form of a post body, written when the post is saved. It lives
+ * beside {@code posts} rather than in it, so listings that load whole posts do not carry a
+ * second body along.
+ */
+@Entity
+@Table(name = "post_rendered_content")
+@Data
+@NoArgsConstructor
+public class PostRenderedContent {
+
+    @Id
+    private Integer postId;
+
+    // SHA-256 of the renderer version and the raw body; also the ETag of /posts/{postId}/content
+    @Column(length = 64, nullable = false)
+    private String contentHash;
+
+    // gzip, sent as-is to clients that accept gzip
+    @Lob
+    @Column(name = "rendered_gz", columnDefinition = "LONGBLOB")
+    @ToString.Exclude
+    private byte[] renderedGzip;
+}
@@ -0,0 +1,48 @@
+package com.e_learning.entities;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.*;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One version of a post's title and content. {@code data} is either a gzip snapshot of the
+ * content or a gzip delta against the revision before it; snapshots are taken every few
+ * revisions so rebuilding any version reads a short chain. The current version still lives
+ * in {@code posts}, so reads never touch this table.
+ */
+@Entity
+@Table(name = "post_revisions", indexes = {
+        @Index(name = "idx_post_revisions_post_rev", columnList = "postId, revision", unique = true) })
+@Data
+@NoArgsConstructor
+public class PostRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer revisionId;
+
+    @Column(nullable = false)
+    private Integer postId;
+
+    // 1, 2, 3... per post
+    private int revision;
+
+    @Column(length = 100)
+    private String title;
+
+    private LocalDateTime addedDate;
+
+    private boolean snapshot;
+
+    // characters of the rebuilt content, so listings need not rebuild it
+    private int contentLength;
+
+    @Lob
+    @Column(columnDefinition = "LONGBLOB")
+    @ToString.Exclude
+    private byte[] data;
+}
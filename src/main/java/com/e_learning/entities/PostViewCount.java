@@ -0,0 +1,21 @@
+package com.e_learning.entities;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// flushed view totals, kept out of the posts table so counting never locks a post row
+@Entity
+@Table(name = "post_view_counts")
+@Data
+@NoArgsConstructor
+public class PostViewCount {
+
+	@Id
+	private Integer postId;
+
+	private long views;
+}
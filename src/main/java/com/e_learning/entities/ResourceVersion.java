@@ -0,0 +1,27 @@
+package com.e_learning.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// shared change counter of one resource collection, so every node hands out the same validators
+@Entity
+@Table(name = "resource_versions")
+@Data
+@NoArgsConstructor
+public class ResourceVersion {
+
+	@Id
+	@Column(length = 32)
+	private String name;
+
+	private long version;
+
+	// epoch millis, whole seconds
+	@Column(name = "last_modified")
+	private long lastModified;
+}
@@ -0,0 +1,29 @@
+package com.e_learning.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// a logged-out access token (keyed by its signature segment), kept until the token expires anyway
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"))
+@Data
+@NoArgsConstructor
+public class RevokedToken {
+
+	@Id
+	@Column(length = 128)
+	private String signature;
+
+	// epoch millis
+	@Column(name = "expires_at")
+	private long expiresAt;
+
+	@Column(name = "revoked_at")
+	private long revokedAt;
+}
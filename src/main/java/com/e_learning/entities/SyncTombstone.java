@@ -0,0 +1,49 @@
+package com.e_learning.entities;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.*;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Record of a post, exam, live stream or category that left a category (deleted or moved),
+ * so /sync can tell clients to drop it. Kept for sync.tombstone-retention-days; a client whose
+ * token is older than that gets a full sync instead.
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstones_deleted_at", columnList = "deletedAt") })
+@Data
+@NoArgsConstructor
+public class SyncTombstone {
+
+    public enum Kind {
+        POST, EXAM, LIVE, CATEGORY
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long tombstoneId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Kind kind;
+
+    @Column(nullable = false)
+    private Integer entityId;
+
+    // the category it left; clients not holding that category ignore the tombstone
+    private Integer categoryId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    public SyncTombstone(Kind kind, Integer entityId, Integer categoryId) {
+        this.kind = kind;
+        this.entityId = entityId;
+        this.categoryId = categoryId;
+        this.deletedAt = LocalDateTime.now();
+    }
+}
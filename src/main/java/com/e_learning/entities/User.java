@@ -6,12 +6,14 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+import org.hibernate.annotations.BatchSize;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+
+import com.e_learning.security.AuthoritySets;
+
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -58,7 +60,9 @@ public class User implements UserDetails {
     private String collegename;
    private String faculty;
     
+    // a listing touches many users; their collections are then read in batches, not one select each
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "user_faculty", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "faculty")
     private List<String> facult;
@@ -70,7 +74,11 @@ public class User implements UserDetails {
     
     private String discount;
 
+    // bumped on role or password changes; self-contained tokens carrying an older value are rejected
+    private int tokenVersion;
+
     @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
     @JoinTable(name = "user_role", 
         joinColumns = @JoinColumn(name = "user", referencedColumnName = "id"), 
         inverseJoinColumns = @JoinColumn(name = "role", referencedColumnName = "id"))
@@ -78,10 +86,8 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<SimpleGrantedAuthority> authorities = this.roles.stream()
-                .map((role) -> new SimpleGrantedAuthority(role.getName()))
-                .collect(Collectors.toList());
-        return authorities;
+        // shared immutable set per role combination, built once instead of on every call
+        return AuthoritySets.forRoles(this.roles);
     }
 
     @Override
@@ -0,0 +1,28 @@
+package com.e_learning.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// force-logout: every token of the user issued at or before the cutoff is revoked
+@Entity
+@Table(name = "user_token_cutoffs", indexes = @Index(name = "idx_user_token_cutoffs_revoked_at", columnList = "revoked_at"))
+@Data
+@NoArgsConstructor
+public class UserTokenCutoff {
+
+	@Id
+	@Column(length = 191)
+	private String username;
+
+	// epoch millis
+	private long cutoff;
+
+	@Column(name = "revoked_at")
+	private long revokedAt;
+}
@@ -3,6 +3,7 @@ package com.e_learning.exceptions;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -51,6 +52,18 @@ public class GlobalExceptionHandler {
 	        return ex.getMessage();
 	    }
 	 
+	 @ExceptionHandler(ServiceBusyException.class)
+	    public ResponseEntity<ApiResponse> handleServiceBusyException(ServiceBusyException ex) {
+	        ApiResponse apiResponse = new ApiResponse(ex.getMessage(), false);
+	        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(apiResponse);
+	    }
+
+	 @ExceptionHandler(InvalidTokenException.class)
+	    public ResponseEntity<ApiResponse> handleInvalidTokenException(InvalidTokenException ex) {
+	        ApiResponse apiResponse = new ApiResponse(ex.getMessage(), false);
+	        return new ResponseEntity<ApiResponse>(apiResponse, HttpStatus.UNAUTHORIZED);
+	    }
+
 	 @ExceptionHandler(IllegalArgumentException.class)
 	    public ResponseEntity<?> handleIllegalArgument(IllegalArgumentException ex) {
 	        String message=ex.getMessage();
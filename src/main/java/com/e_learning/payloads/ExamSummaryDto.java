@@ -0,0 +1,23 @@
+package com.e_learning.payloads;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// listing row for exams, without the nested user and category objects
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ExamSummaryDto {
+	private Integer examId;
+	private String title;
+	private String imageName;
+	private LocalDateTime addedDate;
+	private String deadline;
+	private Integer categoryId;
+	private String categoryTitle;
+	private Integer userId;
+	private String userName;
+}
@@ -7,6 +7,8 @@ import lombok.Data;
 public class JwtAuthResponse {
 
 private String token;
+
+	private String refreshToken;
 	
 	private UserDto user;
 }
@@ -0,0 +1,18 @@
+package com.e_learning.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// listing row for live streams, without the nested user and category objects
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class LiveStreamingSummaryDto {
+	private Integer liveId;
+	private String title;
+	private String startingTime;
+	private String streamlink;
+	private Integer categoryId;
+	private String categoryTitle;
+}
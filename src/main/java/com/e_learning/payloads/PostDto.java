@@ -36,6 +36,9 @@ public class PostDto {
 	private CategoryDto category;
 
 	private UserDto user;
+
+	// read-only; flushed count plus views not yet written
+	private long views;
 	
 	
 
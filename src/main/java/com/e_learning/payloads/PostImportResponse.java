@@ -0,0 +1,46 @@
+package com.e_learning.payloads;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@Getter
+@Setter
+public class PostImportResponse {
+
+	public static final String CREATED = "CREATED";
+	public static final String FAILED = "FAILED";
+
+	private int created;
+	private int failed;
+	// one entry per input row, in input order
+	private List<Row> rows = new ArrayList<>();
+
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Getter
+	@Setter
+	public static class Row {
+		// 1-based position in the uploaded array / CSV data lines
+		private int row;
+		private String status;
+		private Integer postId;
+		private String title;
+		private String message;
+	}
+
+	public void created(int row, Integer postId, String title) {
+		this.rows.add(new Row(row, CREATED, postId, title, null));
+		this.created++;
+	}
+
+	public void failed(int row, String title, String message) {
+		this.rows.add(new Row(row, FAILED, null, title, message));
+		this.failed++;
+	}
+}
@@ -18,4 +18,7 @@ public class PostResponse {
 	private long totalElements;
 	private int totalPages;	
 	private boolean lastPage;
+	// cursor mode only: pass back as ?cursor= for the next page, null on the last page.
+	// totalElements/totalPages are -1 there unless withTotal=true was asked for.
+	private String nextCursor;
 }
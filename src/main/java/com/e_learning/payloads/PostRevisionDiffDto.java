@@ -0,0 +1,19 @@
+package com.e_learning.payloads;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// unified diff between two revisions: "@@" hunk headers, then lines prefixed ' ', '-' or '+'
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class PostRevisionDiffDto {
+	private int fromRevision;
+	private int toRevision;
+	private String fromTitle;
+	private String toTitle;
+	private List<String> lines;
+}
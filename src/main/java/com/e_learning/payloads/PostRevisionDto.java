@@ -0,0 +1,19 @@
+package com.e_learning.payloads;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// revision listing row; the content itself comes from the diff or restore endpoints
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class PostRevisionDto {
+	private int revision;
+	private String title;
+	private LocalDateTime addedDate;
+	private boolean snapshot;
+	private int contentLength;
+}
@@ -0,0 +1,24 @@
+package com.e_learning.payloads;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// listing row for posts: no content, no nested user or category; full post via GET /posts/{postId}
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class PostSummaryDto {
+	private Integer postId;
+	private String title;
+	private String imageName;
+	private String videoLink;
+	private LocalDateTime addedDate;
+	private String mentor;
+	private Integer categoryId;
+	private String categoryTitle;
+	private Integer userId;
+	private String userName;
+}
@@ -0,0 +1,9 @@
+package com.e_learning.payloads;
+
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+
+	private String refreshToken;
+}
@@ -0,0 +1,25 @@
+package com.e_learning.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// rendered lesson body as stored: gzip bytes plus the hash they were rendered from, and the
+// post's title and category so a read can be counted without loading the post
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class RenderedContent {
+	private String contentHash;
+	@ToString.Exclude
+	private byte[] gzip;
+	private String title;
+	private Integer categoryId;
+	private String categoryTitle;
+
+	public RenderedContent(String contentHash, byte[] gzip) {
+		this.contentHash = contentHash;
+		this.gzip = gzip;
+	}
+}
@@ -0,0 +1,16 @@
+package com.e_learning.payloads;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Data
+public class StageTimingDto {
+    private String stage;
+    private long count;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double maxMs;
+}
@@ -0,0 +1,31 @@
+package com.e_learning.payloads;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One /sync answer. Clients apply it in order: when {@code full} drop everything held, then
+ * drop the revoked categories and every deleted id, then upsert the listed rows; finally keep
+ * {@code token} for the next call. Rows changed within the last minute before the previous
+ * token may come again, so upserts must be idempotent.
+ */
+@NoArgsConstructor
+@Data
+public class SyncResponse {
+	private String token;
+	private boolean full;
+	// categories the user no longer holds; drop them with their posts, exams and lives
+	private List<Integer> revokedCategoryIds = new ArrayList<>();
+	// deleted categories; their posts, exams and lives are gone with them
+	private List<Integer> deletedCategoryIds = new ArrayList<>();
+	private List<Integer> deletedPostIds = new ArrayList<>();
+	private List<Integer> deletedExamIds = new ArrayList<>();
+	private List<Integer> deletedLiveIds = new ArrayList<>();
+	private List<CategoryDto> categories = new ArrayList<>();
+	private List<PostSummaryDto> posts = new ArrayList<>();
+	private List<ExamSummaryDto> exams = new ArrayList<>();
+	private List<LiveStreamingSummaryDto> lives = new ArrayList<>();
+}
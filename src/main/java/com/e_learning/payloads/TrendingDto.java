@@ -0,0 +1,15 @@
+package com.e_learning.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one row of /posts/trending or /categories/trending; score is decayed activity, comparable within one list only
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class TrendingDto {
+	private Integer id;
+	private String title;
+	private double score;
+}
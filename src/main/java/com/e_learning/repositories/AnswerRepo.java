@@ -2,6 +2,8 @@ package com.e_learning.repositories;
 
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -18,7 +20,10 @@ import io.lettuce.core.dynamic.annotation.Param;
 
 public interface AnswerRepo extends JpaRepository<Answer, Integer> {
 
+	@EntityGraph(value = "Answer.listing", type = EntityGraphType.LOAD)
 	List<Answer> findByExam(Exam exm);
+	@EntityGraph(value = "Answer.listing", type = EntityGraphType.LOAD)
+	List<Answer> findAll();
 //	@Query("SELECT a FROM Answer a JOIN a.exam e JOIN e.category c WHERE c.categorytitle = :categoryTitle")
 //    List<Answer> findByExamCategory(@Param("categoryTitle") String categoryTitle);
 //	
@@ -1,5 +1,7 @@
 package com.e_learning.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -20,6 +22,11 @@ public interface CategoryRepo extends JpaRepository<Category, Integer> {
 	
 
 	List<Category> findAllByOrderByAddedDateDesc();
+
+	List<Category> findByUpdatedAtAfter(LocalDateTime since);
+
+	@Query("select c.categoryId from Category c where c.categoryTitle in :titles")
+	List<Integer> findIdsByCategoryTitleIn(@Param("titles") Collection<String> titles);
 	
 	// Search by category title
     List<Category> findByCategoryTitleContainingIgnoreCase(String categoryTitle);
@@ -1,7 +1,11 @@
 package com.e_learning.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,13 +14,44 @@ import com.e_learning.entities.Category;
 import com.e_learning.entities.Exam;
 import com.e_learning.entities.Post;
 import com.e_learning.entities.User;
+import com.e_learning.payloads.ExamSummaryDto;
 
 public interface ExamRepo extends JpaRepository<Exam, Integer>{
 
+	@EntityGraph(value = "Exam.listing", type = EntityGraphType.LOAD)
 	List<Exam> findByCategory(Category category);
 	//List<Exam> findByCategory(String categoryTitle);
+	@EntityGraph(value = "Exam.listing", type = EntityGraphType.LOAD)
 	List<Exam> findByUser(User user);
+	@EntityGraph(value = "Exam.listing", type = EntityGraphType.LOAD)
+	List<Exam> findAll();
+	@EntityGraph(value = "Exam.listing", type = EntityGraphType.LOAD)
 	@Query("select e from Exam e where e.title like :key")
 	List<Exam> searchByTitle(@Param("key") String title);
 
+	// listing columns only, no nested user or category entities
+	String SUMMARY = "select new com.e_learning.payloads.ExamSummaryDto(e.examId, e.title, e.imageName, e.addedDate,"
+			+ " e.deadline, c.categoryId, c.categoryTitle, u.id, u.name)"
+			+ " from Exam e left join e.category c left join e.user u";
+
+	@Query(SUMMARY + " order by e.examId")
+	List<ExamSummaryDto> findAllSummaries();
+
+	@Query(SUMMARY + " where c.categoryId = :categoryId order by e.examId")
+	List<ExamSummaryDto> findSummariesByCategoryId(@Param("categoryId") Integer categoryId);
+
+	// delta sync: everything in the categories, or only what changed after the watermark
+	@Query(SUMMARY + " where c.categoryId in :categoryIds order by e.examId")
+	List<ExamSummaryDto> findSummariesByCategoryIds(@Param("categoryIds") Collection<Integer> categoryIds);
+
+	@Query(SUMMARY + " where c.categoryId in :categoryIds and e.updatedAt > :since order by e.examId")
+	List<ExamSummaryDto> findSummariesChangedSince(@Param("categoryIds") Collection<Integer> categoryIds,
+			@Param("since") LocalDateTime since);
+
+	@Query(SUMMARY + " where c.categoryTitle = :categoryTitle order by e.examId")
+	List<ExamSummaryDto> findSummariesByCategoryTitle(@Param("categoryTitle") String categoryTitle);
+
+	@Query(SUMMARY + " where u.id = :userId order by e.examId")
+	List<ExamSummaryDto> findSummariesByUserId(@Param("userId") Integer userId);
+
 }
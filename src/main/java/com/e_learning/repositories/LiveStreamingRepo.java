@@ -1,7 +1,11 @@
 package com.e_learning.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,15 +14,42 @@ import com.e_learning.entities.Category;
 import com.e_learning.entities.LiveStreaming;
 import com.e_learning.entities.Post;
 import com.e_learning.entities.User;
+import com.e_learning.payloads.LiveStreamingSummaryDto;
 
 
 
 
 public interface LiveStreamingRepo extends JpaRepository<LiveStreaming, Integer>{
 
+	@EntityGraph(value = "LiveStreaming.listing", type = EntityGraphType.LOAD)
 	List<LiveStreaming> findByCategory(Category category);
+	@EntityGraph(value = "LiveStreaming.listing", type = EntityGraphType.LOAD)
+	List<LiveStreaming> findAll();
 	
+	@EntityGraph(value = "LiveStreaming.listing", type = EntityGraphType.LOAD)
 	List<LiveStreaming> findByUser(User user);
+
+	// listing columns only, no nested user or category entities
+	String SUMMARY = "select new com.e_learning.payloads.LiveStreamingSummaryDto(l.liveId, l.title, l.startingTime,"
+			+ " l.streamlink, c.categoryId, c.categoryTitle)"
+			+ " from LiveStreaming l left join l.category c";
+
+	@Query(SUMMARY + " order by l.liveId")
+	List<LiveStreamingSummaryDto> findAllSummaries();
+
+	@Query(SUMMARY + " where c.categoryId = :categoryId order by l.liveId")
+	List<LiveStreamingSummaryDto> findSummariesByCategoryId(@Param("categoryId") Integer categoryId);
+
+	// delta sync: everything in the categories, or only what changed after the watermark
+	@Query(SUMMARY + " where c.categoryId in :categoryIds order by l.liveId")
+	List<LiveStreamingSummaryDto> findSummariesByCategoryIds(@Param("categoryIds") Collection<Integer> categoryIds);
+
+	@Query(SUMMARY + " where c.categoryId in :categoryIds and l.updatedAt > :since order by l.liveId")
+	List<LiveStreamingSummaryDto> findSummariesChangedSince(@Param("categoryIds") Collection<Integer> categoryIds,
+			@Param("since") LocalDateTime since);
+
+	@Query(SUMMARY + " where c.categoryTitle = :categoryTitle order by l.liveId")
+	List<LiveStreamingSummaryDto> findSummariesByCategoryTitle(@Param("categoryTitle") String categoryTitle);
 	
 	
 }
@@ -0,0 +1,9 @@
+package com.e_learning.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.e_learning.entities.PostRenderedContent;
+
+public interface PostRenderedContentRepo extends JpaRepository<PostRenderedContent, Integer> {
+
+}
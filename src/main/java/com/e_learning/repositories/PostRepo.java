@@ -1,26 +1,99 @@
 package com.e_learning.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import javax.persistence.LockModeType;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.e_learning.entities.Category;
 import com.e_learning.entities.Post;
 import com.e_learning.entities.User;
+import com.e_learning.payloads.PostSummaryDto;
 
 
 
-public interface PostRepo extends JpaRepository<Post, Integer> {
+public interface PostRepo extends JpaRepository<Post, Integer>, PostRepoCustom {
 
+	// listing queries join user and category (Post.listing); roles and faculties follow in batches
+	@EntityGraph(value = "Post.listing", type = EntityGraphType.LOAD)
 	List<Post> findByUser(User user);
+	@EntityGraph(value = "Post.listing", type = EntityGraphType.LOAD)
 	List<Post> findByCategory(Category category);	
+	@EntityGraph(value = "Post.listing", type = EntityGraphType.LOAD)
 	List<Post> findByCategoryIn(List<Category> categories);
-	@Query("select p from Post p where p.title like :key")
-	List<Post> searchByTitle(@Param("key") String title);
+
+	@EntityGraph(value = "Post.listing", type = EntityGraphType.LOAD)
+	Page<Post> findAll(Pageable pageable);
+
+	@EntityGraph(value = "Post.listing", type = EntityGraphType.LOAD)
+	List<Post> findAllById(Iterable<Integer> ids);
+	// id and stored body size (legacy text or gzip), walked by primary key to plan the search index rebuild
+	@Query("select p.postId, coalesce(length(p.contentGzip), length(p.content), 0) from Post p"
+			+ " where p.postId > :after order by p.postId")
+	List<Object[]> findSearchSizesAfter(@Param("after") Integer after, Pageable pageable);
+
+	// id, title and content only (legacy text or gzip) of the given posts
+	@Query("select p.postId, p.title, p.content, p.contentGzip from Post p where p.postId in :ids order by p.postId")
+	List<Object[]> findSearchRowsByIds(@Param("ids") Collection<Integer> ids);
+
+	// the post with its row locked until the transaction ends, so edits of one post run one at a time
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select p from Post p where p.postId = :postId")
+	Optional<Post> findByIdForUpdate(@Param("postId") Integer postId);
+
+	// [contentGzip, content] of one post, without its user or category
+	@Query("select p.contentGzip, p.content from Post p where p.postId = :postId")
+	List<Object[]> findContentById(@Param("postId") Integer postId);
+
+	// [title, categoryId, categoryTitle] of one post, for counting a read without loading it
+	@Query("select p.title, c.categoryId, c.categoryTitle from Post p left join p.category c where p.postId = :postId")
+	List<Object[]> findSummaryById(@Param("postId") Integer postId);
+
+	@Query("select p.postId from Post p where p.contentGzip is null and p.content is not null order by p.postId")
+	List<Integer> findUncompressedIds(Pageable pageable);
 	
 	
+	@EntityGraph(value = "Post.listing", type = EntityGraphType.LOAD)
 	List<Post> findByCategoryCategoryId(Integer categoryId);
+
+	// listing columns only: never selects content
+	String SUMMARY = "select new com.e_learning.payloads.PostSummaryDto(p.postId, p.title, p.imageName, p.videoLink,"
+			+ " p.addedDate, p.mentor, c.categoryId, c.categoryTitle, u.id, u.name)"
+			+ " from Post p left join p.category c left join p.user u";
+
+	// page of listing rows; the pageable's sort is applied to p
+	@Query(value = SUMMARY, countQuery = "select count(p) from Post p")
+	Page<PostSummaryDto> findSummaries(Pageable pageable);
+
+	@Query(SUMMARY + " where c.categoryId = :categoryId order by p.postId")
+	List<PostSummaryDto> findSummariesByCategoryId(@Param("categoryId") Integer categoryId);
+
+	@Query(SUMMARY + " where u.id = :userId order by p.postId")
+	List<PostSummaryDto> findSummariesByUserId(@Param("userId") Integer userId);
+
+	// delta sync: everything in the categories, or only what changed after the watermark
+	@Query(SUMMARY + " where c.categoryId in :categoryIds order by p.postId")
+	List<PostSummaryDto> findSummariesByCategoryIds(@Param("categoryIds") Collection<Integer> categoryIds);
+
+	@Query(SUMMARY + " where c.categoryId in :categoryIds and p.updatedAt > :since order by p.postId")
+	List<PostSummaryDto> findSummariesChangedSince(@Param("categoryIds") Collection<Integer> categoryIds,
+			@Param("since") LocalDateTime since);
+
+	// total for cursor pages; a slightly stale number is fine there (see postCount in ehcache.xml)
+	@Cacheable("postCount")
+	@Query("select count(p) from Post p")
+	long countAllPosts();
 }
 
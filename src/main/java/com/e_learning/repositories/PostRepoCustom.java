@@ -0,0 +1,22 @@
+package com.e_learning.repositories;
+
+import java.util.List;
+
+import com.e_learning.entities.Post;
+
+public interface PostRepoCustom {
+
+	/**
+	 * Keyset page: the first {@code limit} posts ordered by (sortBy, postId) that come after
+	 * (lastKey, lastPostId). A null lastPostId returns the first page.
+	 * No offset and no count query, so deep pages cost the same as the first one.
+	 */
+	List<Post> findPageAfter(String sortBy, boolean ascending, Object lastKey, Integer lastPostId, int limit);
+
+	/**
+	 * Inserts the posts as one JDBC batch in the current transaction and sets their generated ids.
+	 * Goes around the persistence context: the posts are not managed afterwards and no
+	 * entity listeners or caches see them. Content must already be set (it is written compressed).
+	 */
+	void insertBatch(List<Post> posts);
+}
@@ -0,0 +1,100 @@
+package com.e_learning.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.e_learning.entities.Post;
+
+public class PostRepoImpl implements PostRepoCustom {
+
+	private static final String INSERT = "insert into posts"
+			+ " (post_title, content_gz, image_name, video_link, added_date, updated_at, mentor, category_id, user_id)"
+			+ " values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public List<Post> findPageAfter(String sortBy, boolean ascending, Object lastKey, Integer lastPostId, int limit) {
+		CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Post> query = cb.createQuery(Post.class);
+		Root<Post> post = query.from(Post.class);
+		Path<Integer> id = post.get("postId");
+		boolean byId = "postId".equals(sortBy);
+		Path<Comparable> key = post.get(sortBy);
+
+		if (lastPostId != null) {
+			Predicate afterId = ascending ? cb.greaterThan(id, lastPostId) : cb.lessThan(id, lastPostId);
+			if (byId) {
+				query.where(afterId);
+			} else {
+				// (key, id) > (lastKey, lastId), written out so MySQL can range-scan the (key, postId) index
+				Comparable last = (Comparable) lastKey;
+				Predicate afterKey = ascending ? cb.greaterThan(key, last) : cb.lessThan(key, last);
+				query.where(cb.or(afterKey, cb.and(cb.equal(key, last), afterId)));
+			}
+		}
+		if (byId) {
+			query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+		} else {
+			query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+		}
+		// same joins as the derived listing queries in PostRepo
+		return this.entityManager.createQuery(query)
+				.setHint("javax.persistence.loadgraph", this.entityManager.getEntityGraph("Post.listing"))
+				.setMaxResults(limit).getResultList();
+	}
+
+	@Override
+	public void insertBatch(List<Post> posts) {
+		if (posts.isEmpty()) {
+			return;
+		}
+		// Hibernate cannot batch IDENTITY inserts; one JDBC batch can, and with
+		// rewriteBatchedStatements=true MySQL receives it as a single multi-row insert
+		this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			try (PreparedStatement insert = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+				for (Post post : posts) {
+					insert.setString(1, post.getTitle());
+					insert.setBytes(2, post.getContentGzip());
+					insert.setString(3, post.getImageName());
+					insert.setString(4, post.getVideoLink());
+					insert.setTimestamp(5, Timestamp.valueOf(post.getAddedDate()));
+					// plain JDBC, so the @UpdateTimestamp column is set here
+					insert.setTimestamp(6, Timestamp.valueOf(post.getAddedDate()));
+					insert.setString(7, post.getMentor());
+					insert.setInt(8, post.getCategory().getCategoryId());
+					insert.setInt(9, post.getUser().getId());
+					insert.addBatch();
+				}
+				insert.executeBatch();
+				// keys come back in insert order
+				try (ResultSet keys = insert.getGeneratedKeys()) {
+					for (int i = 0; i < posts.size() && keys.next(); i++) {
+						posts.get(i).setPostId(keys.getInt(1));
+					}
+				}
+			}
+			return null;
+		});
+	}
+}
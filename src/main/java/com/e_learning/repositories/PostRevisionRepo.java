@@ -0,0 +1,34 @@
+package com.e_learning.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.e_learning.entities.PostRevision;
+import com.e_learning.payloads.PostRevisionDto;
+
+public interface PostRevisionRepo extends JpaRepository<PostRevision, Integer> {
+
+	// listing columns only, the data blobs stay in the table
+	@Query("select new com.e_learning.payloads.PostRevisionDto(r.revision, r.title, r.addedDate, r.snapshot, r.contentLength)"
+			+ " from PostRevision r where r.postId = :postId order by r.revision desc")
+	List<PostRevisionDto> findSummariesByPostId(@Param("postId") Integer postId);
+
+	Optional<PostRevision> findFirstByPostIdOrderByRevisionDesc(Integer postId);
+
+	// the nearest snapshot at or before the revision and every delta after it, oldest first
+	@Query("select r from PostRevision r where r.postId = :postId and r.revision <= :revision and r.revision >="
+			+ " (select max(s.revision) from PostRevision s where s.postId = :postId and s.snapshot = true"
+			+ " and s.revision <= :revision) order by r.revision")
+	List<PostRevision> findChain(@Param("postId") Integer postId, @Param("revision") int revision);
+
+	@Transactional
+	@Modifying
+	@Query("delete from PostRevision r where r.postId = :postId")
+	void deleteByPostId(@Param("postId") Integer postId);
+}
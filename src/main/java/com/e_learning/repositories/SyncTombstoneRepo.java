@@ -0,0 +1,22 @@
+package com.e_learning.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.e_learning.entities.SyncTombstone;
+
+public interface SyncTombstoneRepo extends JpaRepository<SyncTombstone, Long> {
+
+	List<SyncTombstone> findByDeletedAtAfter(LocalDateTime since);
+
+	@Transactional
+	@Modifying
+	@Query("delete from SyncTombstone t where t.deletedAt < :before")
+	int deleteOlderThan(@Param("before") LocalDateTime before);
+}
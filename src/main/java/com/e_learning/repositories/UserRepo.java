@@ -3,8 +3,10 @@ package com.e_learning.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.e_learning.entities.User;
 
@@ -13,6 +15,10 @@ import com.e_learning.entities.User;
 public interface UserRepo extends JpaRepository<User, Integer>{
 	
 	Optional<User> findByEmail(String email);
+
+	// principals outlive the session that loaded them, so the faculty list is fetched up front
+	@EntityGraph(attributePaths = "facult")
+	Optional<User> findWithFacultByEmail(String email);
 	Optional<User> findByMobileNo(String mobileNo);
 
 	List<User> findByCollegename(String collegename);
@@ -20,4 +26,10 @@ public interface UserRepo extends JpaRepository<User, Integer>{
 
 @Query("SELECT DISTINCT u.faculty FROM User u")
 List<String> findAllFaculties();
+
+@Query("SELECT u.faculty FROM User u WHERE u.id = :id")
+Optional<String> findFacultyById(@Param("id") Integer id);
+
+@Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+Optional<Integer> findTokenVersionById(@Param("id") Integer id);
 }
\ No newline at end of file
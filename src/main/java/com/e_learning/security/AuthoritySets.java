@@ -0,0 +1,47 @@
+package com.e_learning.security;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.e_learning.entities.Role;
+
+/**
+ * Interns one {@link InternedAuthorities} per distinct role combination.
+ * There are only a handful of combinations, so after warm-up getAuthorities() allocates nothing
+ * for the usual single-role user.
+ */
+public final class AuthoritySets {
+
+	private static final ConcurrentMap<String, InternedAuthorities> BY_ROLES = new ConcurrentHashMap<>();
+
+	private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+	private AuthoritySets() {
+	}
+
+	public static InternedAuthorities forRoles(Collection<Role> roles) {
+		String key = roles.size() == 1 ? String.valueOf(roles.iterator().next().getName())
+				: roles.stream().map(role -> String.valueOf(role.getName())).sorted().collect(Collectors.joining(","));
+		InternedAuthorities authorities = BY_ROLES.get(key);
+		if (authorities == null) {
+			authorities = BY_ROLES.computeIfAbsent(key, k -> create(roles));
+		}
+		return authorities;
+	}
+
+	private static InternedAuthorities create(Collection<Role> roles) {
+		Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+		for (Role role : roles) {
+			authorities.add(new SimpleGrantedAuthority(String.valueOf(role.getName())));
+		}
+		return new InternedAuthorities(NEXT_INDEX.getAndIncrement(), authorities);
+	}
+}
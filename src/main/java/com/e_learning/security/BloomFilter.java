@@ -0,0 +1,65 @@
+package com.e_learning.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Lock-free reads and writes; no removal,
+ * so owners rebuild it from their exact set when entries expire.
+ */
+final class BloomFilter {
+
+	private final AtomicLongArray bits;
+	private final int bitCount;
+	private final int hashCount;
+
+	BloomFilter(long expectedInsertions, double falsePositiveRate) {
+		long n = Math.max(expectedInsertions, 1);
+		long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bitCount = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - 63);
+		this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / n * Math.log(2)));
+		this.bits = new AtomicLongArray((this.bitCount + 63) >>> 6);
+	}
+
+	void put(String key, long seed) {
+		long hash = hash(key, seed);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < this.hashCount; i++) {
+			int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % this.bitCount;
+			int word = bit >>> 6;
+			long mask = 1L << bit;
+			long current;
+			do {
+				current = this.bits.get(word);
+			} while ((current & mask) == 0 && !this.bits.compareAndSet(word, current, current | mask));
+		}
+	}
+
+	boolean mightContain(String key, long seed) {
+		long hash = hash(key, seed);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < this.hashCount; i++) {
+			int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % this.bitCount;
+			if ((this.bits.get(bit >>> 6) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// 64-bit FNV-1a over the chars, finished with a murmur3 mix so both halves are usable
+	private static long hash(String key, long seed) {
+		long h = 0xcbf29ce484222325L ^ seed;
+		for (int i = 0, len = key.length(); i < len; i++) {
+			h ^= key.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
@@ -0,0 +1,89 @@
+package com.e_learning.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.e_learning.exceptions.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs every encode/matches of the wrapped encoder on a small dedicated pool with a bounded queue.
+ * When the queue is full the call fails at once with {@link ServiceBusyException} (503), so a login
+ * storm cannot hold more request threads than pool size + queue capacity.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	private final Counter rejected;
+
+	public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+
+		Gauge.builder("password.hash.queue.depth", this.executor, e -> e.getQueue().size())
+				.register(meterRegistry);
+		Gauge.builder("password.hash.active", this.executor, ThreadPoolExecutor::getActiveCount)
+				.register(meterRegistry);
+		this.encodeTimer = Timer.builder("password.hash.latency").tag("op", "encode").register(meterRegistry);
+		this.matchesTimer = Timer.builder("password.hash.latency").tag("op", "matches").register(meterRegistry);
+		this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return submit(() -> this.encodeTimer.recordCallable(() -> this.delegate.encode(rawPassword)));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return submit(() -> this.matchesTimer.recordCallable(() -> this.delegate.matches(rawPassword, encodedPassword)));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return this.delegate.upgradeEncoding(encodedPassword);
+	}
+
+	private <T> T submit(Callable<T> work) {
+		try {
+			return this.executor.submit(work).get();
+		} catch (RejectedExecutionException e) {
+			this.rejected.increment();
+			throw new ServiceBusyException("Too many password operations in progress. Please try again shortly.");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+}
@@ -0,0 +1,127 @@
+package com.e_learning.security;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.regex.Pattern;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.AccessDecisionManager;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreFilter;
+import org.springframework.security.access.prepost.PreInvocationAttribute;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Remembers @PreAuthorize outcomes per (interned authority set, secured method).
+ * Only expressions built purely from hasRole/hasAnyRole/hasAuthority/hasAnyAuthority are cached,
+ * since their result cannot depend on arguments or on the principal beyond its authorities.
+ * Everything else goes to the regular SpEL-based delegate.
+ */
+public class CachingAccessDecisionManager implements AccessDecisionManager {
+
+	private static final int UNKNOWN = 0;
+	private static final int GRANTED = 1;
+	private static final int DENIED = 2;
+
+	// role names, boolean operators and parentheses only
+	private static final Pattern AUTHORITY_ONLY = Pattern.compile(
+			"^(\\s|\\(|\\)|and|or|not|!|&&|\\|\\||,|(hasRole|hasAnyRole|hasAuthority|hasAnyAuthority)|'[A-Za-z0-9_]*')*$");
+
+	private static final int MAX_AUTHORITY_SETS = 64;
+
+	private final AccessDecisionManager delegate;
+
+	// method -> decision per authority set index (UNKNOWN / GRANTED / DENIED)
+	private final ConcurrentMap<Method, AtomicIntegerArray> decisions = new ConcurrentHashMap<>();
+
+	// marks methods whose expression always has to be evaluated by the delegate
+	private static final AtomicIntegerArray NOT_CACHEABLE = new AtomicIntegerArray(0);
+
+	public CachingAccessDecisionManager(AccessDecisionManager delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void decide(Authentication authentication, Object object, Collection<ConfigAttribute> configAttributes)
+			throws AccessDeniedException, InsufficientAuthenticationException {
+		InternedAuthorities authorities = internedAuthorities(authentication);
+		if (authorities == null || authorities.getIndex() >= MAX_AUTHORITY_SETS
+				|| !(object instanceof MethodInvocation)) {
+			this.delegate.decide(authentication, object, configAttributes);
+			return;
+		}
+		Method method = ((MethodInvocation) object).getMethod();
+		AtomicIntegerArray methodDecisions = this.decisions.computeIfAbsent(method,
+				m -> isCacheable(m, configAttributes) ? new AtomicIntegerArray(MAX_AUTHORITY_SETS) : NOT_CACHEABLE);
+		if (methodDecisions == NOT_CACHEABLE) {
+			this.delegate.decide(authentication, object, configAttributes);
+			return;
+		}
+
+		int index = authorities.getIndex();
+		int decision = methodDecisions.get(index);
+		if (decision == UNKNOWN) {
+			decideAndRemember(authentication, object, configAttributes, methodDecisions, index);
+			return;
+		}
+		if (decision == GRANTED) {
+			return;
+		}
+		throw new AccessDeniedException("Access is denied");
+	}
+
+	private void decideAndRemember(Authentication authentication, Object object,
+			Collection<ConfigAttribute> configAttributes, AtomicIntegerArray methodDecisions, int index) {
+		try {
+			this.delegate.decide(authentication, object, configAttributes);
+			methodDecisions.set(index, GRANTED);
+		} catch (AccessDeniedException e) {
+			methodDecisions.set(index, DENIED);
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean supports(ConfigAttribute attribute) {
+		return this.delegate.supports(attribute);
+	}
+
+	@Override
+	public boolean supports(Class<?> clazz) {
+		return this.delegate.supports(clazz);
+	}
+
+	private static InternedAuthorities internedAuthorities(Authentication authentication) {
+		if (authentication == null || !authentication.isAuthenticated()
+				|| !(authentication.getPrincipal() instanceof UserDetails)) {
+			return null;
+		}
+		// the token copies authorities into a fresh list, the principal still holds the interned set
+		Collection<?> authorities = ((UserDetails) authentication.getPrincipal()).getAuthorities();
+		return authorities instanceof InternedAuthorities ? (InternedAuthorities) authorities : null;
+	}
+
+	private static boolean isCacheable(Method method, Collection<ConfigAttribute> configAttributes) {
+		for (ConfigAttribute attribute : configAttributes) {
+			if (!(attribute instanceof PreInvocationAttribute)) {
+				return false;
+			}
+		}
+		if (AnnotatedElementUtils.hasAnnotation(method, PreFilter.class)) {
+			return false;
+		}
+		PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(method, PreAuthorize.class);
+		if (preAuthorize == null) {
+			preAuthorize = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), PreAuthorize.class);
+		}
+		return preAuthorize != null && AUTHORITY_ONLY.matcher(preAuthorize.value()).matches();
+	}
+}
@@ -22,7 +22,7 @@ public class CustomUserDetailService implements UserDetailsService {
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
 		// loading user from database by username
-		User user = this.userRepo.findByEmail(username)
+		User user = this.userRepo.findWithFacultByEmail(username)
 				.orElseThrow(() -> new ResourceNotFoundException("User ", " email : " + username, 0));
 
 		return user;
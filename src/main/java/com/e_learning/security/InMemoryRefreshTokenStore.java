@@ -0,0 +1,71 @@
+package com.e_learning.security;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "security.refresh-token.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+	private static final class Entry {
+		final String username;
+		final Instant expiresAt;
+
+		Entry(String username, Instant expiresAt) {
+			this.username = username;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+
+	// username -> hashes, so all of a user's tokens can be revoked without a scan
+	private final Map<String, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+
+	@Override
+	public void store(String tokenHash, String username, Instant expiresAt) {
+		this.tokens.put(tokenHash, new Entry(username, expiresAt));
+		this.tokensByUser.computeIfAbsent(username, u -> ConcurrentHashMap.newKeySet()).add(tokenHash);
+	}
+
+	@Override
+	public String consume(String tokenHash) {
+		Entry entry = this.tokens.remove(tokenHash);
+		if (entry == null) {
+			return null;
+		}
+		Set<String> hashes = this.tokensByUser.get(entry.username);
+		if (hashes != null) {
+			hashes.remove(tokenHash);
+		}
+		return entry.expiresAt.isAfter(Instant.now()) ? entry.username : null;
+	}
+
+	@Override
+	public void revokeAll(String username) {
+		Set<String> hashes = this.tokensByUser.remove(username);
+		if (hashes != null) {
+			hashes.forEach(this.tokens::remove);
+		}
+	}
+
+	@Scheduled(fixedRate = 600000) // every 10 minutes
+	public void purgeExpired() {
+		Instant now = Instant.now();
+		this.tokens.forEach((hash, entry) -> {
+			if (!entry.expiresAt.isAfter(now) && this.tokens.remove(hash, entry)) {
+				Set<String> hashes = this.tokensByUser.get(entry.username);
+				if (hashes != null) {
+					hashes.remove(hash);
+				}
+			}
+		});
+		this.tokensByUser.values().removeIf(Set::isEmpty);
+	}
+}
@@ -0,0 +1,41 @@
+package com.e_learning.security;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Immutable authority set shared by every principal with the same role combination.
+ * The small {@link #getIndex() index} lets method security keep per-method decisions in a plain array.
+ */
+public final class InternedAuthorities extends AbstractSet<GrantedAuthority> {
+
+	private final int index;
+	private final Set<GrantedAuthority> authorities;
+
+	InternedAuthorities(int index, Set<GrantedAuthority> authorities) {
+		this.index = index;
+		this.authorities = Set.copyOf(authorities);
+	}
+
+	public int getIndex() {
+		return this.index;
+	}
+
+	@Override
+	public Iterator<GrantedAuthority> iterator() {
+		return this.authorities.iterator();
+	}
+
+	@Override
+	public int size() {
+		return this.authorities.size();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return this.authorities.contains(o);
+	}
+}
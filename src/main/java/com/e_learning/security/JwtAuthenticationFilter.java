@@ -1,9 +1,6 @@
 package com.e_learning.security;
 
 import java.io.IOException;
-import java.security.Principal;
-import java.util.Collection;
-import java.util.Enumeration;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -14,7 +11,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -23,8 +19,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.e_learning.repositories.UserRepo;
-import com.e_learning.services.impl.UserServiceImpl;
+import com.e_learning.tracing.Stage;
+import com.e_learning.tracing.StageTracer;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 
@@ -41,55 +39,86 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionTable tokenVersionTable;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private StageTracer stageTracer;
+
+    @Autowired
+    private RouteClassifier routeClassifier;
+
+    // public catalog reads never look at the principal, so the token is not parsed and no user is loaded
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return this.routeClassifier.isPublicRead(request);
+    }
+
     @Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 
+		long filterStart = System.nanoTime();
+
 //		1. get token 
 
 		String requestToken = request.getHeader("Authorization");
-		Enumeration<String> headerNames = request.getHeaderNames();
-
-		while(headerNames.hasMoreElements())
-		{
-			System.out.println(headerNames.nextElement());
-		}
-		// Bearer 2352523sdgsg
-
-		System.out.println(requestToken);
+		// Sandip 2352523sdgsg
 
 		String username = null;
 
 		String token = null;
 
+		Claims claims = null;
+
 		if (requestToken != null && requestToken.startsWith("Sandip ")) {
 
 			token = requestToken.substring(7);
 
 			try {
-				username = this.jwtTokenHelper.getUsernameFromToken(token);
+				claims = this.jwtTokenHelper.getVerifiedClaims(token);
+				username = claims.getSubject();
+				if (this.tokenDenylist.isRevoked(token, claims)) {
+					logger.debug("Jwt token has been revoked");
+					username = null;
+				}
 		//	String	userId=this.jwtTokenHelper.getUserIdFromToken(token);
 			
 			} catch (IllegalArgumentException e) {
-				System.out.println("Unable to get Jwt token");
+				logger.debug("Unable to get Jwt token");
 			} catch (ExpiredJwtException e) {
-				System.out.println("Jwt token has expired");
+				logger.debug("Jwt token has expired");
 			} catch (MalformedJwtException e) {
-				System.out.println("invalid jwt");
+				logger.debug("invalid jwt");
 
 			}
 
 		} else {
-			System.out.println("Jwt token does not begin with Sandip");
+			logger.debug("Jwt token does not begin with Sandip");
 		}
 
 		// once we get the token , now validate
 
 		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-			UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			long userLoadStart = System.nanoTime();
+			UserDetails userDetails;
+			if (this.jwtTokenHelper.isSelfContained(claims)) {
+				// roles and id travel in the token; only the version table is consulted
+				userDetails = this.tokenVersionTable.isCurrent(this.jwtTokenHelper.getUserId(claims),
+						this.jwtTokenHelper.getTokenVersion(claims)) ? this.jwtTokenHelper.buildPrincipal(claims) : null;
+			} else {
+				userDetails = this.principalCache.get(username, this.userDetailsService::loadUserByUsername);
+			}
+			this.stageTracer.recordSince(Stage.USER_LOAD, userLoadStart);
               
-			if (this.jwtTokenHelper.validateToken(token, userDetails)) {
+			if (userDetails != null && this.jwtTokenHelper.validateToken(claims, userDetails)) {
 				// shi chal rha hai
 				// authentication karna hai
 
@@ -100,14 +129,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 				SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
 
 			} else {
-				System.out.println("Invalid jwt token");
+				logger.debug("Invalid jwt token");
 			}
 
 		} else {
-			System.out.println("username is null or context is not null");
+			logger.debug("username is null or context is not null");
 		}
 
-		
+		this.stageTracer.recordSince(Stage.AUTH_FILTER, filterStart);
 		filterChain.doFilter(request, response);
 	}
 
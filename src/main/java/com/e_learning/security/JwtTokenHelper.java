@@ -1,16 +1,34 @@
 package com.e_learning.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.e_learning.entities.Role;
+import com.e_learning.entities.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Component
 public class JwtTokenHelper {
@@ -20,6 +38,56 @@ public class JwtTokenHelper {
 
     private String secret = "jwtTokenKey";
 
+    // claim names used by self-contained tokens
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    // issue time in epoch millis; iat only has seconds, too coarse for a force-logout cutoff
+    public static final String CLAIM_ISSUED_AT_MILLIS = "iatms";
+
+    private final boolean selfContainedTokens;
+
+    // SHA-256 of the compact token -> claims that already passed signature verification.
+    // Each entry lives until the token's own exp, so a cached entry is never an expired token.
+    private final Cache<String, Claims> verifiedClaims;
+
+    public JwtTokenHelper(MeterRegistry meterRegistry,
+            @Value("${security.claims-cache.max-size:20000}") long maxSize,
+            @Value("${security.jwt.self-contained-tokens:false}") boolean selfContainedTokens) {
+        this.selfContainedTokens = selfContainedTokens;
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.verifiedClaims, "jwtClaims");
+    }
+
+    /**
+     * Verifies the signature and expiry of the token once and returns its claims.
+     * Repeat calls with the same token are served from the cache without re-running HS512
+     * or the JSON parse. Throws the usual jjwt exceptions for expired, malformed or forged tokens.
+     */
+    public Claims getVerifiedClaims(String token) {
+        return this.verifiedClaims.get(digest(token), key -> getAllClaimsFromToken(token));
+    }
+
     //retrieve username from jwt token
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
@@ -35,7 +103,7 @@ public class JwtTokenHelper {
     }
 
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
+        final Claims claims = getVerifiedClaims(token);
         return claimsResolver.apply(claims);
     }
 
@@ -53,9 +121,55 @@ public class JwtTokenHelper {
     //generate token for user
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (this.selfContainedTokens && userDetails instanceof User) {
+            User user = (User) userDetails;
+            List<String> roleNames = user.getRoles().stream().map(Role::getName).collect(Collectors.toList());
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLES, roleNames);
+            claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        }
         return doGenerateToken(claims, userDetails.getUsername());
     }
 
+    //true when the token carries everything needed to build the principal without a DB load
+    public boolean isSelfContained(Claims claims) {
+        return claims.get(CLAIM_USER_ID) != null && claims.get(CLAIM_ROLES) != null
+                && claims.get(CLAIM_TOKEN_VERSION) != null;
+    }
+
+    //issue time in millis; tokens from before the claim existed fall back to iat, or null
+    public static Long getIssuedAtMillis(Claims claims) {
+        Object millis = claims.get(CLAIM_ISSUED_AT_MILLIS);
+        if (millis instanceof Number) {
+            return ((Number) millis).longValue();
+        }
+        return claims.getIssuedAt() == null ? null : claims.getIssuedAt().getTime();
+    }
+
+    public int getUserId(Claims claims) {
+        return ((Number) claims.get(CLAIM_USER_ID)).intValue();
+    }
+
+    public int getTokenVersion(Claims claims) {
+        return ((Number) claims.get(CLAIM_TOKEN_VERSION)).intValue();
+    }
+
+    //rebuild a detached principal (id, email, roles) from a self-contained token
+    public User buildPrincipal(Claims claims) {
+        User user = new User();
+        user.setId(getUserId(claims));
+        user.setEmail(claims.getSubject());
+        user.setTokenVersion(getTokenVersion(claims));
+        Set<Role> roles = new HashSet<>();
+        for (Object roleName : (List<?>) claims.get(CLAIM_ROLES)) {
+            Role role = new Role();
+            role.setName(String.valueOf(roleName));
+            roles.add(role);
+        }
+        user.setRoles(roles);
+        return user;
+    }
+
     //while creating the token -
     //1. Define  claims of the token, like Issuer, Expiration, Subject, and the ID
     //2. Sign the JWT using the HS512 algorithm and secret key.
@@ -63,15 +177,30 @@ public class JwtTokenHelper {
     //   compaction of the JWT to a URL-safe string
     private String doGenerateToken(Map<String, Object> claims, String subject) {
 
-        return Jwts.builder().setClaims(claims).setSubject(subject).setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY * 1000))
+        long now = System.currentTimeMillis();
+        claims.put(CLAIM_ISSUED_AT_MILLIS, now);
+        return Jwts.builder().setClaims(claims).setSubject(subject).setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + JWT_TOKEN_VALIDITY * 1000))
                 .signWith(SignatureAlgorithm.HS512, secret).compact();
     }
 
     //validate token
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(getVerifiedClaims(token), userDetails);
+    }
+
+    //validate already verified claims without touching the token again
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        return (claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 	
 	
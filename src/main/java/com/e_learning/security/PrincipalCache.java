@@ -0,0 +1,51 @@
+package com.e_learning.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by token subject (email).
+ * Lets the JWT filter skip the user + roles lookup on every request.
+ * Anything that changes a user's email, password or roles must call {@link #evict(String)}.
+ */
+@Component
+public class PrincipalCache {
+
+	private final Cache<String, UserDetails> principals;
+
+	public PrincipalCache(MeterRegistry meterRegistry,
+			@Value("${security.principal-cache.max-size:10000}") long maxSize,
+			@Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+		this.principals = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats()
+				.build();
+		// exposes cache.gets{result=hit|miss}, cache.evictions, cache.size under name=principals
+		CaffeineCacheMetrics.monitor(meterRegistry, this.principals, "principals");
+	}
+
+	public UserDetails get(String username, Function<String, UserDetails> loader) {
+		return this.principals.get(username, loader);
+	}
+
+	public void evict(String username) {
+		if (username != null) {
+			this.principals.invalidate(username);
+		}
+	}
+
+	public void evictAll() {
+		this.principals.invalidateAll();
+	}
+}
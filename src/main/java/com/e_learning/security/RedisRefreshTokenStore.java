@@ -0,0 +1,70 @@
+package com.e_learning.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+
+/**
+ * Refresh token store shared by every instance behind the load balancer.
+ * Keys expire in Redis on their own, so no purge job is needed.
+ */
+@Component
+@ConditionalOnProperty(name = "security.refresh-token.store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+	private static final String TOKEN_KEY = "refresh:token:";
+	private static final String USER_KEY = "refresh:user:";
+
+	private final RedisClient client;
+	private final StatefulRedisConnection<String, String> connection;
+	private final RedisCommands<String, String> redis;
+
+	public RedisRefreshTokenStore(@Value("${security.refresh-token.redis-uri}") String redisUri) {
+		this.client = RedisClient.create(redisUri);
+		this.connection = this.client.connect();
+		this.redis = this.connection.sync();
+	}
+
+	@Override
+	public void store(String tokenHash, String username, Instant expiresAt) {
+		long ttlSeconds = Math.max(Duration.between(Instant.now(), expiresAt).getSeconds(), 1);
+		this.redis.set(TOKEN_KEY + tokenHash, username, SetArgs.Builder.ex(ttlSeconds));
+		this.redis.sadd(USER_KEY + username, tokenHash);
+		this.redis.expire(USER_KEY + username, ttlSeconds);
+	}
+
+	@Override
+	public String consume(String tokenHash) {
+		String username = this.redis.getdel(TOKEN_KEY + tokenHash);
+		if (username != null) {
+			this.redis.srem(USER_KEY + username, tokenHash);
+		}
+		return username;
+	}
+
+	@Override
+	public void revokeAll(String username) {
+		Set<String> hashes = this.redis.smembers(USER_KEY + username);
+		for (String hash : hashes) {
+			this.redis.del(TOKEN_KEY + hash);
+		}
+		this.redis.del(USER_KEY + username);
+	}
+
+	@PreDestroy
+	public void close() {
+		this.connection.close();
+		this.client.shutdown();
+	}
+}
@@ -0,0 +1,64 @@
+package com.e_learning.security;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.e_learning.exceptions.ApiException;
+import com.e_learning.exceptions.InvalidTokenException;
+
+/**
+ * Issues opaque refresh tokens and rotates them on every use.
+ * Exchanging a refresh token costs one hash lookup instead of a BCrypt verify.
+ */
+@Service
+public class RefreshTokenService {
+
+	private final SecureRandom random = new SecureRandom();
+
+	@Autowired
+	private RefreshTokenStore refreshTokenStore;
+
+	@Value("${security.refresh-token.validity-days:14}")
+	private long validityDays;
+
+	public String issue(String username) {
+		byte[] bytes = new byte[32];
+		this.random.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		this.refreshTokenStore.store(JwtTokenHelper.digest(token), username,
+				Instant.now().plus(Duration.ofDays(this.validityDays)));
+		return token;
+	}
+
+	/**
+	 * Consumes the given refresh token and returns the username it was issued to.
+	 * The old token is gone afterwards; the caller hands out a fresh one with {@link #issue(String)}.
+	 */
+	public String consume(String token) {
+		if (token == null || token.isEmpty()) {
+			throw new ApiException("Refresh token is required !!");
+		}
+		String username = this.refreshTokenStore.consume(JwtTokenHelper.digest(token));
+		if (username == null) {
+			throw new InvalidTokenException("Invalid or expired refresh token !!");
+		}
+		return username;
+	}
+
+	/** Drops a single refresh token, e.g. on logout. Unknown tokens are ignored. */
+	public void revoke(String token) {
+		if (token != null && !token.isEmpty()) {
+			this.refreshTokenStore.consume(JwtTokenHelper.digest(token));
+		}
+	}
+
+	public void revokeAll(String username) {
+		this.refreshTokenStore.revokeAll(username);
+	}
+}
@@ -0,0 +1,21 @@
+package com.e_learning.security;
+
+import java.time.Instant;
+
+/**
+ * Server-side store of refresh tokens. Only SHA-256 hashes of the tokens are kept.
+ * {@link InMemoryRefreshTokenStore} is the default; {@link RedisRefreshTokenStore} is shared
+ * between instances and is selected with security.refresh-token.store=redis.
+ */
+public interface RefreshTokenStore {
+
+	void store(String tokenHash, String username, Instant expiresAt);
+
+	/**
+	 * Atomically removes the token and returns its owner, or null when the hash is unknown
+	 * or expired. A token can therefore be exchanged exactly once.
+	 */
+	String consume(String tokenHash);
+
+	void revokeAll(String username);
+}
@@ -0,0 +1,131 @@
+package com.e_learning.security;
+
+import java.lang.reflect.AnnotatedElement;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+/**
+ * Sorts GET routes, once at startup, into public reads and routes that need the principal.
+ * A route needs the principal when its handler is secured (@PreAuthorize, @PostAuthorize, @Secured)
+ * or takes a Principal, Authentication or @AuthenticationPrincipal argument. Every other GET route is
+ * a public read, and {@link JwtAuthenticationFilter} skips token parsing and user loading for it.
+ * Handlers that read SecurityContextHolder directly on a GET must declare one of those arguments.
+ * A path that matches any route needing the principal is never treated as public.
+ */
+@Component
+public class RouteClassifier {
+
+	private static final Logger logger = LoggerFactory.getLogger(RouteClassifier.class);
+
+	private volatile List<PathPattern> publicReads = Collections.emptyList();
+	private volatile List<PathPattern> principalReads = Collections.emptyList();
+
+	@EventListener(ContextRefreshedEvent.class)
+	public void classify(ContextRefreshedEvent event) {
+		Map<String, RequestMappingHandlerMapping> mappings = event.getApplicationContext()
+				.getBeansOfType(RequestMappingHandlerMapping.class);
+		List<PathPattern> publicPatterns = new ArrayList<>();
+		List<PathPattern> principalPatterns = new ArrayList<>();
+		for (RequestMappingHandlerMapping mapping : mappings.values()) {
+			for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+				RequestMappingInfo info = entry.getKey();
+				if (!servesGet(info)) {
+					continue;
+				}
+				List<PathPattern> target = needsPrincipal(entry.getValue()) ? principalPatterns : publicPatterns;
+				for (String pattern : info.getPatternValues()) {
+					try {
+						target.add(PathPatternParser.defaultInstance.parse(pattern));
+					} catch (PatternParseException e) {
+						if (target == principalPatterns) {
+							// cannot tell which paths it covers, so keep every GET on the full path
+							logger.warn("Route {} cannot be classified, anonymous GET fast path disabled", pattern);
+							this.publicReads = Collections.emptyList();
+							return;
+						}
+					}
+				}
+			}
+		}
+		this.principalReads = List.copyOf(principalPatterns);
+		this.publicReads = List.copyOf(publicPatterns);
+		logger.info("Classified {} GET routes as public reads, {} as needing the principal", publicPatterns.size(),
+				principalPatterns.size());
+	}
+
+	public boolean isPublicRead(HttpServletRequest request) {
+		String method = request.getMethod();
+		if (!"GET".equals(method) && !"HEAD".equals(method)) {
+			return false;
+		}
+		List<PathPattern> publicPatterns = this.publicReads;
+		if (publicPatterns.isEmpty()) {
+			return false;
+		}
+		PathContainer path = PathContainer
+				.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+		for (PathPattern pattern : this.principalReads) {
+			if (pattern.matches(path)) {
+				return false;
+			}
+		}
+		for (PathPattern pattern : publicPatterns) {
+			if (pattern.matches(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean servesGet(RequestMappingInfo info) {
+		Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+		return methods.isEmpty() || methods.contains(RequestMethod.GET);
+	}
+
+	private static boolean needsPrincipal(HandlerMethod handler) {
+		if (isSecured(handler.getMethod()) || isSecured(handler.getBeanType())) {
+			return true;
+		}
+		for (MethodParameter parameter : handler.getMethodParameters()) {
+			Class<?> type = parameter.getParameterType();
+			if (Principal.class.isAssignableFrom(type) || Authentication.class.isAssignableFrom(type)
+					|| parameter.hasParameterAnnotation(AuthenticationPrincipal.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isSecured(AnnotatedElement element) {
+		return AnnotatedElementUtils.hasAnnotation(element, PreAuthorize.class)
+				|| AnnotatedElementUtils.hasAnnotation(element, PostAuthorize.class)
+				|| AnnotatedElementUtils.hasAnnotation(element, Secured.class);
+	}
+}
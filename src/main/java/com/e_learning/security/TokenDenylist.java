@@ -0,0 +1,171 @@
+package com.e_learning.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Revoked access tokens, checked on every authenticated request.
+ * A Bloom filter sits in front of the exact maps, so a token that was never revoked
+ * costs a few bit probes and no lookup. Entries leave the exact maps once the tokens
+ * they cover have expired anyway, and the filter is then rebuilt from what is left.
+ *
+ * Two kinds of entries are kept:
+ * a single token (logout), keyed by its signature segment, and
+ * a per-user cutoff (force-logout) that rejects every token issued at or before it.
+ *
+ * Both are written through to revoked_tokens / user_token_cutoffs, so they survive a restart and
+ * reach the other nodes: each node loads everything at startup and then picks up new rows every
+ * {@code security.token-denylist.refresh-ms}. The per-request check never leaves memory.
+ */
+@Component
+public class TokenDenylist implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(TokenDenylist.class);
+
+	private static final long TOKEN_SEED = 0x544f4b454eL;
+	private static final long USER_SEED = 0x55534552L;
+
+	private static final long TOKEN_VALIDITY_MILLIS = JwtTokenHelper.JWT_TOKEN_VALIDITY * 1000;
+
+	// a refresh re-reads this much before its watermark, for rows committed late or stamped by a clock behind ours
+	private static final long REFRESH_OVERLAP_MILLIS = 10000;
+
+	private static final String UPSERT_TOKEN = "insert into revoked_tokens (signature, expires_at, revoked_at) values (?, ?, ?)"
+			+ " on duplicate key update expires_at = values(expires_at)";
+
+	private static final String UPSERT_CUTOFF = "insert into user_token_cutoffs (username, cutoff, revoked_at) values (?, ?, ?)"
+			+ " on duplicate key update cutoff = greatest(cutoff, values(cutoff)), revoked_at = values(revoked_at)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final long expectedEntries;
+	private final double falsePositiveRate;
+
+	// token signature -> expiry of that token (epoch millis)
+	private volatile Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+	// username -> cutoff (epoch millis); tokens issued at or before it are revoked
+	private volatile Map<String, Long> userCutoffs = new ConcurrentHashMap<>();
+
+	private volatile BloomFilter bloom;
+
+	// rows revoked before this (minus the overlap) are already loaded
+	private long loadedUpTo;
+
+	public TokenDenylist(JdbcTemplate jdbcTemplate,
+			@Value("${security.token-denylist.expected-entries:100000}") long expectedEntries,
+			@Value("${security.token-denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.expectedEntries = expectedEntries;
+		this.falsePositiveRate = falsePositiveRate;
+		this.bloom = new BloomFilter(expectedEntries, falsePositiveRate);
+	}
+
+	// after the schema is in place, before the web server takes requests
+	@Override
+	public void afterSingletonsInstantiated() {
+		reload();
+	}
+
+	/** Revokes one token until its own expiry. */
+	public synchronized void revoke(String token, Claims claims) {
+		String signature = signatureOf(token);
+		long expiresAt = claims.getExpiration().getTime();
+		this.jdbcTemplate.update(UPSERT_TOKEN, signature, expiresAt, System.currentTimeMillis());
+		this.revokedTokens.put(signature, expiresAt);
+		this.bloom.put(signature, TOKEN_SEED);
+	}
+
+	/** Revokes every token issued to the user up to now. */
+	public synchronized void revokeAllFor(String username) {
+		// millisecond cutoff, so a login right after a force-logout in the same second still works
+		long cutoff = System.currentTimeMillis();
+		this.jdbcTemplate.update(UPSERT_CUTOFF, username, cutoff, cutoff);
+		this.userCutoffs.merge(username, cutoff, Math::max);
+		this.bloom.put(username, USER_SEED);
+	}
+
+	public boolean isRevoked(String token, Claims claims) {
+		BloomFilter filter = this.bloom;
+		String username = claims.getSubject();
+		if (username != null && filter.mightContain(username, USER_SEED)) {
+			Long cutoff = this.userCutoffs.get(username);
+			// older tokens only have iat, truncated to the second, so they are revoked for their whole second
+			Long issuedAt = JwtTokenHelper.getIssuedAtMillis(claims);
+			if (cutoff != null && (issuedAt == null || issuedAt <= cutoff)) {
+				return true;
+			}
+		}
+		String signature = signatureOf(token);
+		return filter.mightContain(signature, TOKEN_SEED) && this.revokedTokens.containsKey(signature);
+	}
+
+	// revocations made on other nodes since the last load
+	@Scheduled(fixedDelayString = "${security.token-denylist.refresh-ms:10000}")
+	public synchronized void refresh() {
+		long now = System.currentTimeMillis();
+		long since = this.loadedUpTo - REFRESH_OVERLAP_MILLIS;
+		BloomFilter filter = this.bloom;
+		this.jdbcTemplate.query("select signature, expires_at from revoked_tokens where revoked_at >= ? and expires_at > ?",
+				row -> {
+					this.revokedTokens.put(row.getString(1), row.getLong(2));
+					filter.put(row.getString(1), TOKEN_SEED);
+				}, since, now);
+		this.jdbcTemplate.query("select username, cutoff from user_token_cutoffs where revoked_at >= ?", row -> {
+			this.userCutoffs.merge(row.getString(1), row.getLong(2), Math::max);
+			filter.put(row.getString(1), USER_SEED);
+		}, since);
+		this.loadedUpTo = now;
+	}
+
+	@Scheduled(fixedRate = 600000) // every 10 minutes
+	public void purgeExpired() {
+		long now = System.currentTimeMillis();
+		this.jdbcTemplate.update("delete from revoked_tokens where expires_at <= ?", now);
+		this.jdbcTemplate.update("delete from user_token_cutoffs where cutoff <= ?", now - TOKEN_VALIDITY_MILLIS);
+		// bits cannot be cleared, so start over from the surviving entries
+		reload();
+	}
+
+	private synchronized void reload() {
+		long now = System.currentTimeMillis();
+		Map<String, Long> tokens = new ConcurrentHashMap<>();
+		Map<String, Long> cutoffs = new ConcurrentHashMap<>();
+		try {
+			this.jdbcTemplate.query("select signature, expires_at from revoked_tokens where expires_at > ?",
+					row -> {
+						tokens.put(row.getString(1), row.getLong(2));
+					}, now);
+			this.jdbcTemplate.query("select username, cutoff from user_token_cutoffs where cutoff > ?", row -> {
+				cutoffs.put(row.getString(1), row.getLong(2));
+			}, now - TOKEN_VALIDITY_MILLIS);
+		} catch (DataAccessException e) {
+			logger.warn("Loading revoked tokens failed, keeping the ones in memory", e);
+			return;
+		}
+		BloomFilter rebuilt = new BloomFilter(Math.max(this.expectedEntries, 2L * (tokens.size() + cutoffs.size())),
+				this.falsePositiveRate);
+		tokens.keySet().forEach(signature -> rebuilt.put(signature, TOKEN_SEED));
+		cutoffs.keySet().forEach(username -> rebuilt.put(username, USER_SEED));
+		// the filter first, so no reader sees an entry in the maps that the filter would hide
+		this.bloom = rebuilt;
+		this.revokedTokens = tokens;
+		this.userCutoffs = cutoffs;
+		this.loadedUpTo = now;
+	}
+
+	// the HMAC segment is already unique per token, so it is used as the key without hashing again
+	private static String signatureOf(String token) {
+		return token.substring(token.lastIndexOf('.') + 1);
+	}
+}
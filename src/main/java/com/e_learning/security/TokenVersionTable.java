@@ -0,0 +1,52 @@
+package com.e_learning.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.e_learning.entities.User;
+import com.e_learning.repositories.UserRepo;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+/**
+ * In-memory userId -> current token version, used to revoke self-contained tokens.
+ * A miss costs one scalar select on users.token_version, never a full user load.
+ * Entries are refreshed after a short TTL so other instances pick up bumps as well.
+ */
+@Component
+public class TokenVersionTable {
+
+	private final LoadingCache<Integer, Integer> versions;
+
+	public TokenVersionTable(UserRepo userRepo,
+			@Value("${security.token-version.ttl-seconds:60}") long ttlSeconds) {
+		this.versions = Caffeine.newBuilder()
+				.maximumSize(100_000)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				// a deleted user loads as null, which makes every token of theirs stale
+				.build(userId -> userRepo.findTokenVersionById(userId).orElse(null));
+	}
+
+	public boolean isCurrent(int userId, int tokenVersion) {
+		Integer current = this.versions.get(userId);
+		return current != null && current == tokenVersion;
+	}
+
+	/**
+	 * Increments the user's token version so every token issued before this call is rejected.
+	 * The caller still has to save the user, then call {@link #publish(User)}.
+	 */
+	public void bump(User user) {
+		user.setTokenVersion(user.getTokenVersion() + 1);
+	}
+
+	public void publish(User savedUser) {
+		this.versions.put(savedUser.getId(), savedUser.getTokenVersion());
+	}
+
+	public void forget(int userId) {
+		this.versions.invalidate(userId);
+	}
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import com.e_learning.payloads.CategoryDto;
 import com.e_learning.payloads.ExamDto;
 import com.e_learning.payloads.ExamResponse;
+import com.e_learning.payloads.ExamSummaryDto;
 import com.e_learning.payloads.PostDto;
 import com.e_learning.payloads.PostResponse;
 
@@ -41,4 +42,13 @@ public interface ExamService {
 			List<ExamDto>getExamsByUserFaculty(Integer userId);
 			
 			List<ExamDto> searchExams(String keyword);
+
+			//---------summary listings---------
+			List<ExamSummaryDto> getExamSummaries();
+
+			List<ExamSummaryDto> getExamSummariesByCategory(Integer categoryId);
+
+			List<ExamSummaryDto> getExamSummariesByUser(Integer userId);
+
+			List<ExamSummaryDto> getExamSummariesByUserFaculty(Integer userId);
 }
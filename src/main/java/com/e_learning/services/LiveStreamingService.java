@@ -3,6 +3,7 @@ package com.e_learning.services;
 import java.util.List;
 
 import com.e_learning.payloads.LiveStreamingDto;
+import com.e_learning.payloads.LiveStreamingSummaryDto;
 import com.e_learning.payloads.PostDto;
 import com.e_learning.payloads.UserDto;
 
@@ -23,6 +24,13 @@ public interface LiveStreamingService {
 			List<LiveStreamingDto>getLiveStreamingByUserFaculty(Integer userId,String faculty);
 			
 			List<LiveStreamingDto> getAllLives();
+
+			//---------summary listings---------
+			List<LiveStreamingSummaryDto> getAllLiveSummaries();
+
+			List<LiveStreamingSummaryDto> getLiveSummariesByCategory(Integer categoryId);
+
+			List<LiveStreamingSummaryDto> getLiveSummariesByUserFaculty(Integer userId);
 			
 
 			//update 
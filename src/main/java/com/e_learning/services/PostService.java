@@ -1,10 +1,17 @@
 package com.e_learning.services;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import com.e_learning.payloads.ApiResponse;
 import com.e_learning.payloads.PostDto;
+import com.e_learning.payloads.PostImportResponse;
 import com.e_learning.payloads.PostResponse;
+import com.e_learning.payloads.PostRevisionDiffDto;
+import com.e_learning.payloads.PostRevisionDto;
+import com.e_learning.payloads.PostSummaryDto;
+import com.e_learning.payloads.RenderedContent;
 import com.e_learning.payloads.UserDto;
 
 
@@ -26,10 +33,24 @@ public interface PostService {
 		//get all posts
 		
 		PostResponse getAllPost(Integer pageNumber,Integer pageSize,String sortBy,String sortDir);
+
+		// same page as getAllPost from the listing columns only: no content, category and user
+		// carry just their id and title/name
+		PostResponse getAllPostListing(Integer pageNumber, Integer pageSize, String sortBy, String sortDir);
+
+		// keyset pagination; a blank cursor starts from the first page
+		PostResponse getAllPostByCursor(String cursor, Integer pageSize, String sortBy, String sortDir, boolean withTotal);
 		
 		//get single post
 		
 		PostDto getPostById(Integer postId);
+
+		// the sanitised, rendered post body as a gzip stream, exactly as stored
+		RenderedContent getRenderedContent(Integer postId);
+
+		// streams a JSON array or CSV of posts into one user's category; reports every row
+		PostImportResponse importPosts(Integer userId, Integer categoryId, InputStream body, boolean csv)
+				throws IOException;
 		
 		
 		
@@ -42,13 +63,29 @@ public interface PostService {
 		
 	
 		
-		List<PostDto>getPostsByUserFaculty(Integer userId);
+		List<PostSummaryDto>getPostsByUserFaculty(Integer userId);
 		
 	//	List<PostDto>getPostssByUserFacult(Integer userId);
-		List<PostDto>getPostssByUserFacult(Integer userId, String faculty) ;
+		List<PostSummaryDto>getPostssByUserFacult(Integer userId, String faculty) ;
 		//search posts
-		List<PostDto> searchPosts(String keyword);
+		List<PostDto> searchPosts(String keyword, Integer pageNumber, Integer pageSize);
 		
-		List<PostDto> getPostsByCategoryId(Integer categoryId);
+		List<PostSummaryDto> getPostsByCategoryId(Integer categoryId);
+
+		//---------summary listings (no content)---------
+		List<PostSummaryDto> getPostSummariesByCategory(Integer categoryId);
+
+		List<PostSummaryDto> getPostSummariesByUser(Integer userId);
+
+		List<PostSummaryDto> getPostSummariesByUserFaculty(Integer userId);
+
+		//---------revisions---------
+		List<PostRevisionDto> getPostRevisions(Integer postId);
+
+		// toRevision null compares against the latest revision
+		PostRevisionDiffDto diffPostRevisions(Integer postId, int fromRevision, Integer toRevision);
+
+		// saves the revision's title and content as a new edit, so the restore is itself undoable
+		PostDto restorePostRevision(Integer postId, int revision);
 		
 }
@@ -0,0 +1,9 @@
+package com.e_learning.services;
+
+import com.e_learning.payloads.SyncResponse;
+
+public interface SyncService {
+
+	// changes in the user's categories since the token; a blank token gets everything
+	SyncResponse sync(Integer userId, String since);
+}
@@ -22,6 +22,9 @@ UserDto registerNewUser(UserDto user);
 	List<UserDto> getAllUsers();
 
 	void deleteUser(Integer userId);
+
+	// revokes every access and refresh token the user currently holds
+	void forceLogout(Integer userId);
 	
 	List<UserDto> getUsersByCollegeName(String collegename);  
 	
@@ -19,14 +19,11 @@ import com.e_learning.payloads.PostDto;
 import com.e_learning.payloads.UserDto;
 import com.e_learning.repositories.AnswerRepo;
 import com.e_learning.repositories.ExamRepo;
-import com.e_learning.repositories.UserRepo;
 import com.e_learning.services.AnswerService;
 
 @Service
 public class AnswerServiceImpl implements AnswerService {
 
-	@Autowired
-	private UserRepo userRepo;
     @Autowired
     private ExamRepo examRepo;
 
@@ -35,6 +32,12 @@ public class AnswerServiceImpl implements AnswerService {
 
     @Autowired
     private ModelMapper modelMapper;
+
+    @Autowired
+    private RequestIdentityMap requestIdentityMap;
+
+    @Autowired
+    private TrendingTracker trendingTracker;
     
   
 
@@ -45,8 +48,7 @@ public class AnswerServiceImpl implements AnswerService {
         Exam exam = this.examRepo.findById(examId)
                 .orElseThrow(() -> new ResourceNotFoundException("Exam", "exam id", examId));
 
-        User user = this.userRepo.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "user id", userId));
+        User user = this.requestIdentityMap.getUser(userId);
 
         // Map the DTO to the Answer entity
         Answer answer = this.modelMapper.map(answerDto, Answer.class);
@@ -59,6 +61,7 @@ public class AnswerServiceImpl implements AnswerService {
 
         // Save the Answer entity to the repository
         Answer savedAnswer = this.answerRepo.save(answer);
+        this.trendingTracker.answerSubmitted(exam.getCategory());
         AnswerDto savedAnswerDto = this.modelMapper.map(savedAnswer, AnswerDto.class);
         
         // Map the saved Answer entity back to DTO
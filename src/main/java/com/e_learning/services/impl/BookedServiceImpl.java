@@ -31,6 +31,9 @@ public class BookedServiceImpl implements BookedService{
 	    @Autowired
 	    private ModelMapper modelMapper;
 
+	    @Autowired
+	    private RequestIdentityMap requestIdentityMap;
+
 	    @Autowired
 	    private UserRepo userRepo;
 
@@ -41,12 +44,10 @@ public class BookedServiceImpl implements BookedService{
 	    @Override
 	    public BookedDto createBooked(BookedDto bookedDto, Integer userId, Integer categoryId) {
 	        // Fetch the user
-	        User user = this.userRepo.findById(userId)
-	                .orElseThrow(() -> new ResourceNotFoundException("User", "User id", userId));
+	        User user = this.requestIdentityMap.getUser(userId);
 
 	        // Fetch the category
-	        Category category = this.categoryRepo.findById(categoryId)
-	                .orElseThrow(() -> new ResourceNotFoundException("Category", "Category id", categoryId));
+	        Category category = this.requestIdentityMap.getCategory(categoryId);
 
 	     // Check if the user already booked the category
 	        Optional<Booked> existingBooking = this.bookedRepo.findByUserAndCategory(user, category);
@@ -0,0 +1,18 @@
+package com.e_learning.services.impl;
+
+/**
+ * Published after a category is updated or deleted. Its title may have changed,
+ * so anything keyed or labelled by the title has to be dropped.
+ */
+public class CategoryChangedEvent {
+
+	private final Integer categoryId;
+
+	public CategoryChangedEvent(Integer categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public Integer getCategoryId() {
+		return categoryId;
+	}
+}
@@ -0,0 +1,96 @@
+package com.e_learning.services.impl;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.e_learning.entities.Category;
+import com.e_learning.exceptions.ResourceNotFoundException;
+import com.e_learning.payloads.PostSummaryDto;
+import com.e_learning.repositories.CategoryRepo;
+import com.e_learning.repositories.PostRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Immutable post-summary feed per category, shared by every category and faculty listing.
+ * Feeds are dropped by {@link PostChangedEvent} for the categories a post left or entered,
+ * and by {@link CategoryChangedEvent} when a category is renamed or removed.
+ * Author names are not tracked, so the TTL is the upper bound on a stale author name.
+ */
+@Component
+public class CategoryFeedCache {
+
+	@Autowired
+	private PostRepo postRepo;
+
+	@Autowired
+	private CategoryRepo categoryRepo;
+
+	private final Cache<Integer, List<PostSummaryDto>> feeds;
+
+	// faculty / category title -> category id
+	private final Cache<String, Integer> categoryIds;
+
+	public CategoryFeedCache(MeterRegistry meterRegistry,
+			@Value("${posts.feed-cache.max-size:1000}") long maxSize,
+			@Value("${posts.feed-cache.ttl-seconds:600}") long ttlSeconds) {
+		this.feeds = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats()
+				.build();
+		this.categoryIds = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.feeds, "categoryFeeds");
+	}
+
+	public List<PostSummaryDto> feed(Integer categoryId) {
+		// an invalidate that races a load waits for it, so a stale load never outlives its event
+		return this.feeds.get(categoryId, id -> List.copyOf(this.postRepo.findSummariesByCategoryId(id)));
+	}
+
+	public List<PostSummaryDto> feedByTitle(String categoryTitle) {
+		return feed(categoryIdForTitle(categoryTitle));
+	}
+
+	public Integer categoryIdForTitle(String categoryTitle) {
+		if (categoryTitle == null) {
+			throw new ResourceNotFoundException("Category", "title", categoryTitle);
+		}
+		// a missing title is not cached, so a category created later is found on the next call
+		return this.categoryIds.get(categoryTitle, title -> {
+			Category category = this.categoryRepo.findByCategoryTitle(title);
+			if (category == null) {
+				throw new ResourceNotFoundException("Category", "title", title);
+			}
+			return category.getCategoryId();
+		});
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event) {
+		evict(event.getPreviousCategoryId());
+		evict(event.getCategoryId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		evict(event.getCategoryId());
+		this.categoryIds.invalidateAll();
+	}
+
+	private void evict(Integer categoryId) {
+		if (categoryId != null) {
+			this.feeds.invalidate(categoryId);
+		}
+	}
+}
@@ -8,18 +8,23 @@ import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.e_learning.entities.Booked;
 import com.e_learning.entities.Category;
 import com.e_learning.entities.Post;
+import com.e_learning.entities.SyncTombstone;
+import com.e_learning.entities.SyncTombstone.Kind;
 import com.e_learning.entities.User;
 import com.e_learning.exceptions.ResourceNotFoundException;
 import com.e_learning.payloads.BookedDto;
 import com.e_learning.payloads.CategoryDto;
 import com.e_learning.payloads.PostDto;
 import com.e_learning.repositories.CategoryRepo;
+import com.e_learning.repositories.SyncTombstoneRepo;
 import com.e_learning.services.CategoryService;
+import com.e_learning.services.impl.ResourceVersions.Resource;
 
 
 
@@ -34,6 +39,15 @@ public class CategoryServiceImpl implements CategoryService {
 	@Autowired
 	private ModelMapper modelMapper;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	@Autowired
+	private SyncTombstoneRepo syncTombstoneRepo;
+
 
 	@Override
 	public CategoryDto createCategory(CategoryDto categoryDto) {
@@ -48,6 +62,7 @@ public class CategoryServiceImpl implements CategoryService {
 		logger.info("Category type..... "+categoryDto.getCategoryType());
 		cat.setCourseValidDate(categoryDto.getCourseValidDate());
 		Category addedCat = this.categoryRepo.save(cat);
+		this.resourceVersions.bump(Resource.CATEGORIES);
 		return this.modelMapper.map(addedCat, CategoryDto.class);
 	}
 
@@ -67,6 +82,8 @@ public class CategoryServiceImpl implements CategoryService {
          cat.setImageName(categoryDto.getImageName());
          cat.setMainCategory(categoryDto.getMainCategory());
 		Category updatedcat = this.categoryRepo.save(cat);
+		this.eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+		this.resourceVersions.bump(Resource.CATEGORIES);
 
 		return this.modelMapper.map(updatedcat, CategoryDto.class);
 	}
@@ -79,6 +96,9 @@ public class CategoryServiceImpl implements CategoryService {
 		Category cat = this.categoryRepo.findById(categoryId)
 				.orElseThrow(() -> new ResourceNotFoundException("Category ", "category id", categoryId));
 		this.categoryRepo.delete(cat);
+		this.syncTombstoneRepo.save(new SyncTombstone(Kind.CATEGORY, categoryId, null));
+		this.eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+		this.resourceVersions.bump(Resource.CATEGORIES);
 	}
 
 	
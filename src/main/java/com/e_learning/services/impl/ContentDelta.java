@@ -0,0 +1,168 @@
+package com.e_learning.services.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary copy/insert delta between two byte strings, gzip-compressed. The base is indexed in
+ * fixed blocks; the target is scanned with a rolling hash, and every block found in the base is
+ * grown both ways into the longest copy. Encoding and applying are linear in the input, which
+ * matters for lesson bodies of several megabytes where a line diff would be quadratic.
+ * Format: target length, then ops: {@code 0 offset length} copies from the base,
+ * {@code 1 length bytes} inserts literally. Numbers are unsigned varints.
+ */
+final class ContentDelta {
+
+	private static final int BLOCK = 16;
+
+	private static final int BASE = 257;
+
+	private static final int COPY = 0;
+
+	private static final int INSERT = 1;
+
+	private ContentDelta() {
+	}
+
+	static byte[] encode(byte[] base, byte[] target) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, target.length / 16));
+		try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+			writeVarint(out, target.length);
+			Map<Integer, Integer> blocks = new HashMap<>();
+			for (int offset = 0; offset + BLOCK <= base.length; offset += BLOCK) {
+				blocks.putIfAbsent(hash(base, offset), offset);
+			}
+			int power = 1;
+			for (int i = 1; i < BLOCK; i++) {
+				power *= BASE;
+			}
+
+			int literal = 0;
+			int i = 0;
+			int h = target.length >= BLOCK ? hash(target, 0) : 0;
+			while (i + BLOCK <= target.length) {
+				Integer offset = blocks.get(h);
+				if (offset != null && equal(base, offset, target, i, BLOCK)) {
+					int start = i;
+					int from = offset;
+					while (start > literal && from > 0 && base[from - 1] == target[start - 1]) {
+						start--;
+						from--;
+					}
+					int end = i + BLOCK;
+					int to = offset + BLOCK;
+					while (end < target.length && to < base.length && base[to] == target[end]) {
+						end++;
+						to++;
+					}
+					insert(out, target, literal, start);
+					writeVarint(out, COPY);
+					writeVarint(out, from);
+					writeVarint(out, end - start);
+					literal = end;
+					i = end;
+					if (i + BLOCK <= target.length) {
+						h = hash(target, i);
+					}
+					continue;
+				}
+				if (i + BLOCK < target.length) {
+					h = (h - (target[i] & 0xff) * power) * BASE + (target[i + BLOCK] & 0xff);
+				}
+				i++;
+			}
+			insert(out, target, literal, target.length);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	static byte[] apply(byte[] base, byte[] delta) {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(delta))) {
+			byte[] target = new byte[readVarint(in)];
+			int position = 0;
+			while (position < target.length) {
+				int op = readVarint(in);
+				if (op == COPY) {
+					int from = readVarint(in);
+					int length = readVarint(in);
+					// a delta applied to anything but its own base must fail, not copy garbage
+					if (from < 0 || length < 0 || from > base.length - length || length > target.length - position) {
+						throw new IOException("delta does not match its base");
+					}
+					System.arraycopy(base, from, target, position, length);
+					position += length;
+				} else if (op == INSERT) {
+					int length = readVarint(in);
+					if (length < 0 || length > target.length - position
+							|| in.readNBytes(target, position, length) != length) {
+						throw new IOException("truncated delta");
+					}
+					position += length;
+				} else {
+					throw new IOException("unknown delta op " + op);
+				}
+			}
+			return target;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void insert(OutputStream out, byte[] target, int from, int to) throws IOException {
+		if (to > from) {
+			writeVarint(out, INSERT);
+			writeVarint(out, to - from);
+			out.write(target, from, to - from);
+		}
+	}
+
+	private static int hash(byte[] data, int offset) {
+		int h = 0;
+		for (int i = offset; i < offset + BLOCK; i++) {
+			h = h * BASE + (data[i] & 0xff);
+		}
+		return h;
+	}
+
+	private static boolean equal(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+		for (int i = 0; i < length; i++) {
+			if (a[aOffset + i] != b[bOffset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void writeVarint(OutputStream out, int value) throws IOException {
+		while ((value & ~0x7f) != 0) {
+			out.write((value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarint(InputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.read();
+			if (b < 0) {
+				throw new IOException("truncated delta");
+			}
+			value |= (b & 0x7f) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+}
@@ -0,0 +1,135 @@
+package com.e_learning.services.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.e_learning.payloads.TrendingDto;
+
+/**
+ * Heaviest ids of an event stream under exponential time decay, in fixed memory.
+ * Weights go into a Count-Min Sketch (conservative update) and the ids whose estimate beats
+ * the weakest candidate are kept in a small candidate table. Decay is forward decay: an event
+ * at time t is stored as w * 2^((t - landmark) / halfLife), so old cells never need touching
+ * until the factor grows large and everything is rescaled to a new landmark once.
+ */
+class DecayedTopK {
+
+	private static final int DEPTH = 4;
+
+	// keeps stored weights far from double overflow; about 40 half-lives between rescales
+	private static final double RESCALE_AT = 1e12;
+
+	private static final long[] SEEDS = { 0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L,
+			0xD6E8FEB86659FD93L };
+
+	private final double[][] sketch;
+
+	private final int width;
+
+	private final int capacity;
+
+	private final double lambda;
+
+	private final Map<Integer, Candidate> candidates = new HashMap<>();
+
+	private long landmark = System.currentTimeMillis();
+
+	DecayedTopK(int width, int capacity, long halfLifeMillis) {
+		this.sketch = new double[DEPTH][width];
+		this.width = width;
+		this.capacity = capacity;
+		this.lambda = Math.log(2) / halfLifeMillis;
+	}
+
+	synchronized void record(Integer id, String title, double weight) {
+		long now = System.currentTimeMillis();
+		double factor = Math.exp(this.lambda * (now - this.landmark));
+		if (factor > RESCALE_AT) {
+			rescale(now, factor);
+			factor = 1;
+		}
+		double added = weight * factor;
+
+		int[] cells = new int[DEPTH];
+		double estimate = Double.MAX_VALUE;
+		for (int row = 0; row < DEPTH; row++) {
+			cells[row] = cell(id, row);
+			estimate = Math.min(estimate, this.sketch[row][cells[row]]);
+		}
+		// conservative update: only raise cells that would otherwise fall below the new estimate
+		estimate += added;
+		for (int row = 0; row < DEPTH; row++) {
+			if (this.sketch[row][cells[row]] < estimate) {
+				this.sketch[row][cells[row]] = estimate;
+			}
+		}
+
+		Candidate candidate = this.candidates.get(id);
+		if (candidate != null) {
+			candidate.weight = estimate;
+			if (title != null) {
+				candidate.title = title;
+			}
+			return;
+		}
+		if (this.candidates.size() >= this.capacity) {
+			Map.Entry<Integer, Candidate> weakest = this.candidates.entrySet().stream()
+					.min(Comparator.comparingDouble(entry -> entry.getValue().weight)).get();
+			if (weakest.getValue().weight >= estimate) {
+				return;
+			}
+			this.candidates.remove(weakest.getKey());
+		}
+		this.candidates.put(id, new Candidate(title, estimate));
+	}
+
+	synchronized List<TrendingDto> top(int limit) {
+		double decay = Math.exp(-this.lambda * (System.currentTimeMillis() - this.landmark));
+		return this.candidates.entrySet().stream()
+				.sorted(Comparator.comparingDouble((Map.Entry<Integer, Candidate> entry) -> entry.getValue().weight)
+						.reversed())
+				.limit(limit)
+				.map(entry -> new TrendingDto(entry.getKey(), entry.getValue().title, entry.getValue().weight * decay))
+				.collect(Collectors.toCollection(ArrayList::new));
+	}
+
+	synchronized void remove(Integer id) {
+		this.candidates.remove(id);
+	}
+
+	private void rescale(long now, double factor) {
+		for (double[] row : this.sketch) {
+			for (int i = 0; i < row.length; i++) {
+				row[i] /= factor;
+			}
+		}
+		for (Candidate candidate : this.candidates.values()) {
+			candidate.weight /= factor;
+		}
+		this.landmark = now;
+	}
+
+	private int cell(Integer id, int row) {
+		long h = (id.longValue() + 1) * SEEDS[row];
+		h ^= h >>> 31;
+		h *= 0x94D049BB133111EBL;
+		h ^= h >>> 29;
+		return (int) Math.floorMod(h, (long) this.width);
+	}
+
+	private static class Candidate {
+
+		private String title;
+
+		private double weight;
+
+		Candidate(String title, double weight) {
+			this.title = title;
+			this.weight = weight;
+		}
+	}
+}
@@ -11,14 +11,18 @@ import org.springframework.stereotype.Service;
 
 import com.e_learning.entities.Category;
 import com.e_learning.entities.Exam;
+import com.e_learning.entities.SyncTombstone;
+import com.e_learning.entities.SyncTombstone.Kind;
 
 import com.e_learning.entities.User;
 import com.e_learning.exceptions.ResourceNotFoundException;
 
 import com.e_learning.payloads.ExamDto;
+import com.e_learning.payloads.ExamSummaryDto;
 
 import com.e_learning.repositories.CategoryRepo;
 import com.e_learning.repositories.ExamRepo;
+import com.e_learning.repositories.SyncTombstoneRepo;
 
 import com.e_learning.repositories.UserRepo;
 import com.e_learning.services.ExamService;
@@ -30,20 +34,24 @@ public class ExamServiceImpl implements ExamService{
 	    @Autowired
 	    private ModelMapper modelMapper;
 
+	    @Autowired
+	    private RequestIdentityMap requestIdentityMap;
+
 	    @Autowired
 	    private UserRepo userRepo;
 
 	    @Autowired
 	    private CategoryRepo categoryRepo;
+
+	    @Autowired
+	    private SyncTombstoneRepo syncTombstoneRepo;
 	      
 	        
 	@Override
 	public ExamDto createExam(ExamDto examDto, Integer userId, Integer categoryId) {
-		  User user = this.userRepo.findById(userId)
-	                .orElseThrow(() -> new ResourceNotFoundException("User ", "User id", userId));
+		  User user = this.requestIdentityMap.getUser(userId);
 
-	        Category category = this.categoryRepo.findById(categoryId)
-	                .orElseThrow(() -> new ResourceNotFoundException("Category", "category id ", categoryId));
+	        Category category = this.requestIdentityMap.getCategory(categoryId);
 
 	        Exam exam = this.modelMapper.map(examDto, Exam.class);
 	        exam.setImageName("");
@@ -63,6 +71,7 @@ public class ExamServiceImpl implements ExamService{
 	public ExamDto updateExam(ExamDto examDto, Integer examId) {
 	    Exam exam = this.examRepo.findById(examId)
 	            .orElseThrow(() -> new ResourceNotFoundException("Exam", "exam id", examId));
+	    Integer previousCategoryId = exam.getCategory() == null ? null : exam.getCategory().getCategoryId();
 
 	    // Check if the category exists in the examDto
 	    if (examDto.getCategory() != null && examDto.getCategory().getCategoryId() != null) {
@@ -80,6 +89,9 @@ public class ExamServiceImpl implements ExamService{
 
 	    // Save the updated exam
 	    Exam updatedExam = this.examRepo.save(exam);
+	    if (previousCategoryId != null && !previousCategoryId.equals(updatedExam.getCategory().getCategoryId())) {
+	        this.syncTombstoneRepo.save(new SyncTombstone(Kind.EXAM, examId, previousCategoryId));
+	    }
 	    return this.modelMapper.map(updatedExam, ExamDto.class);
 	}
 
@@ -109,6 +121,8 @@ public class ExamServiceImpl implements ExamService{
                 .orElseThrow(() -> new ResourceNotFoundException("Exam ", "exam id", examId));
 
         this.examRepo.delete(exam);
+        this.syncTombstoneRepo.save(new SyncTombstone(Kind.EXAM, examId,
+                exam.getCategory() == null ? null : exam.getCategory().getCategoryId()));
 		
 	}
 
@@ -192,4 +206,36 @@ public class ExamServiceImpl implements ExamService{
 		return examDtos;
 	}
 
+	@Override
+	public List<ExamSummaryDto> getExamSummaries() {
+		return this.examRepo.findAllSummaries();
+	}
+
+	@Override
+	public List<ExamSummaryDto> getExamSummariesByCategory(Integer categoryId) {
+		if (!this.categoryRepo.existsById(categoryId)) {
+			throw new ResourceNotFoundException("Category", "category id", categoryId);
+		}
+		List<ExamSummaryDto> exams = this.examRepo.findSummariesByCategoryId(categoryId);
+		if (exams.isEmpty()) {
+			throw new ResourceNotFoundException("No exams", "category id", categoryId);
+		}
+		return exams;
+	}
+
+	@Override
+	public List<ExamSummaryDto> getExamSummariesByUser(Integer userId) {
+		if (!this.userRepo.existsById(userId)) {
+			throw new ResourceNotFoundException("User ", "userId ", userId);
+		}
+		return this.examRepo.findSummariesByUserId(userId);
+	}
+
+	@Override
+	public List<ExamSummaryDto> getExamSummariesByUserFaculty(Integer userId) {
+		String userFaculty = this.userRepo.findFacultyById(userId)
+				.orElseThrow(() -> new ResourceNotFoundException("Faculty", "userId", userId));
+		return this.examRepo.findSummariesByCategoryTitle(userFaculty);
+	}
+
 }
@@ -11,11 +11,9 @@ import org.springframework.stereotype.Service;
 
 import com.e_learning.entities.Expense;
 import com.e_learning.entities.User;
-import com.e_learning.exceptions.ResourceNotFoundException;
 import com.e_learning.payloads.ExpenseDto;
 
 import com.e_learning.repositories.ExpenseRepo;
-import com.e_learning.repositories.UserRepo;
 import com.e_learning.services.ExpenseService;
 
 @Service
@@ -24,16 +22,15 @@ public class ExpenseServiceImpl implements ExpenseService{
     private ExpenseRepo expenseRepo;
 
     @Autowired
-    private UserRepo userRepo;
+    private ModelMapper modelMapper;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private RequestIdentityMap requestIdentityMap;
 
 
     @Override
     public ExpenseDto createExpense(ExpenseDto expenseDto, Integer userId) {
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        User user = this.requestIdentityMap.getUser(userId);
         
         Expense expense = modelMapper.map(expenseDto, Expense.class);
         expense.setExpensedate((LocalDate.now()));
@@ -19,8 +19,12 @@ import com.e_learning.entities.User;
 import com.e_learning.payloads.ForgetPasswordDto;
 import com.e_learning.repositories.ForgetPasswordRepo;
 import com.e_learning.repositories.UserRepo;
+import com.e_learning.security.PrincipalCache;
+import com.e_learning.security.RefreshTokenService;
+import com.e_learning.security.TokenVersionTable;
 import com.e_learning.services.ForgetPasswordService;
 import com.e_learning.services.OtpRequestService;
+import com.e_learning.services.impl.ResourceVersions.Resource;
 
 @Service
 public class ForgetPasswordServiceImpl implements ForgetPasswordService {
@@ -39,6 +43,18 @@ public class ForgetPasswordServiceImpl implements ForgetPasswordService {
     @Autowired
     private OtpRequestService otpRequestService; 
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private TokenVersionTable tokenVersionTable;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @Override
     public ForgetPassword createForget(ForgetPasswordDto forgetPasswordDto) {
         String mobileNo = forgetPasswordDto.getPhnum(); // Step 1: Get mobile number from DTO
@@ -172,7 +188,11 @@ public class ForgetPasswordServiceImpl implements ForgetPasswordService {
                     // Step 8: Encode and update the new password
                     String encodedPassword = passwordEncoder.encode(newPassword);
                     user.setPassword(encodedPassword);
-                    userRepo.save(user);  // Save the updated user with the new password
+                    tokenVersionTable.bump(user);
+                    tokenVersionTable.publish(userRepo.save(user));  // Save the updated user with the new password
+                    principalCache.evict(user.getEmail());
+                    resourceVersions.bump(Resource.USERS);
+                    refreshTokenService.revokeAll(user.getEmail());
                     logger.debug("Password updated successfully for mobile number: {}", mobileNo);
 
                     // Optionally, delete the ForgetPassword entry
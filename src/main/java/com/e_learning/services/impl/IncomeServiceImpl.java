@@ -11,10 +11,8 @@ import org.springframework.stereotype.Service;
 
 import com.e_learning.entities.Income;
 import com.e_learning.entities.User;
-import com.e_learning.exceptions.ResourceNotFoundException;
 import com.e_learning.payloads.IncomeDto;
 import com.e_learning.repositories.IncomeRepo;
-import com.e_learning.repositories.UserRepo;
 import com.e_learning.services.IncomeService;
 @Service
 public class IncomeServiceImpl implements IncomeService{
@@ -23,15 +21,14 @@ public class IncomeServiceImpl implements IncomeService{
 	    private IncomeRepo incomeRepo;
 
 	    @Autowired
-	    private UserRepo userRepo;
+	    private ModelMapper modelMapper;
 
 	    @Autowired
-	    private ModelMapper modelMapper;
+	    private RequestIdentityMap requestIdentityMap;
 
 	    @Override
 	    public IncomeDto createIncome(IncomeDto incomeDto, Integer userId) {
-	        User user = userRepo.findById(userId)
-	                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+	        User user = this.requestIdentityMap.getUser(userId);
 	        
 	        Income income = modelMapper.map(incomeDto, Income.class);
 	        income.setUser(user);
@@ -10,15 +10,20 @@ import org.springframework.stereotype.Service;
 import com.e_learning.entities.Category;
 import com.e_learning.entities.LiveStreaming;
 import com.e_learning.entities.Post;
+import com.e_learning.entities.SyncTombstone;
+import com.e_learning.entities.SyncTombstone.Kind;
 import com.e_learning.entities.User;
 import com.e_learning.exceptions.ResourceNotFoundException;
 import com.e_learning.payloads.LiveStreamingDto;
+import com.e_learning.payloads.LiveStreamingSummaryDto;
 import com.e_learning.payloads.PostDto;
 import com.e_learning.payloads.UserDto;
 import com.e_learning.repositories.CategoryRepo;
 import com.e_learning.repositories.LiveStreamingRepo;
+import com.e_learning.repositories.SyncTombstoneRepo;
 import com.e_learning.repositories.UserRepo;
 import com.e_learning.services.LiveStreamingService;
+import com.e_learning.services.impl.ResourceVersions.Resource;
 
 @Service
 public class LiveStreamingServiceImpl implements LiveStreamingService {
@@ -29,19 +34,26 @@ public class LiveStreamingServiceImpl implements LiveStreamingService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private RequestIdentityMap requestIdentityMap;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
     @Autowired
     private UserRepo userRepo;
 
     @Autowired
     private CategoryRepo categoryRepo;
 
+    @Autowired
+    private SyncTombstoneRepo syncTombstoneRepo;
+
     @Override
     public LiveStreamingDto createLiveStreaming(LiveStreamingDto liveDto, Integer userId, Integer categoryId) {
-        User user = this.userRepo.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "User id", userId));
+        User user = this.requestIdentityMap.getUser(userId);
 
-        Category category = this.categoryRepo.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "category id", categoryId));
+        Category category = this.requestIdentityMap.getCategory(categoryId);
 
         LiveStreaming live = this.modelMapper.map(liveDto, LiveStreaming.class);
         live.setTitle(liveDto.getTitle());
@@ -51,6 +63,7 @@ public class LiveStreamingServiceImpl implements LiveStreamingService {
         live.setCategory(category);
 
         LiveStreaming newLive = this.liveRepo.save(live);
+        this.resourceVersions.bump(Resource.LIVES);
 
         return this.modelMapper.map(newLive, LiveStreamingDto.class);
     }
@@ -117,6 +130,7 @@ public class LiveStreamingServiceImpl implements LiveStreamingService {
         // Check if liveId exists
         LiveStreaming live = this.liveRepo.findById(liveId)
                 .orElseThrow(() -> new ResourceNotFoundException("live ", "live id", liveId));
+        Integer previousCategoryId = live.getCategory() == null ? null : live.getCategory().getCategoryId();
         
         // Set fields from the DTO to the entity
         live.setStartingTime(liveDto.getStartingTime());
@@ -132,6 +146,10 @@ public class LiveStreamingServiceImpl implements LiveStreamingService {
 
         // Save the updated entity
         LiveStreaming updatedLive = this.liveRepo.save(live);
+        if (previousCategoryId != null && !previousCategoryId.equals(updatedLive.getCategory().getCategoryId())) {
+            this.syncTombstoneRepo.save(new SyncTombstone(Kind.LIVE, liveId, previousCategoryId));
+        }
+        this.resourceVersions.bump(Resource.LIVES);
         return this.modelMapper.map(updatedLive, LiveStreamingDto.class);
     }
 
@@ -141,6 +159,9 @@ public class LiveStreamingServiceImpl implements LiveStreamingService {
                 .orElseThrow(() -> new ResourceNotFoundException("Liv ", "live id", liveId));
 
         this.liveRepo.delete(live);
+        this.syncTombstoneRepo.save(new SyncTombstone(Kind.LIVE, liveId,
+                live.getCategory() == null ? null : live.getCategory().getCategoryId()));
+        this.resourceVersions.bump(Resource.LIVES);
 		
 	}
 //	@Override
@@ -186,4 +207,28 @@ List<LiveStreaming> lives = this.liveRepo.findByCategory(category);
 	}
 
 
+    @Override
+    public List<LiveStreamingSummaryDto> getAllLiveSummaries() {
+        return this.liveRepo.findAllSummaries();
+    }
+
+    @Override
+    public List<LiveStreamingSummaryDto> getLiveSummariesByCategory(Integer categoryId) {
+        if (!this.categoryRepo.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", "category id", categoryId);
+        }
+        List<LiveStreamingSummaryDto> lives = this.liveRepo.findSummariesByCategoryId(categoryId);
+        if (lives.isEmpty()) {
+            throw new ResourceNotFoundException("live streaming", "category id", categoryId);
+        }
+        return lives;
+    }
+
+    @Override
+    public List<LiveStreamingSummaryDto> getLiveSummariesByUserFaculty(Integer userId) {
+        String userFaculty = this.userRepo.findFacultyById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Faculty", "userId", userId));
+        return this.liveRepo.findSummariesByCategoryTitle(userFaculty);
+    }
+
 }
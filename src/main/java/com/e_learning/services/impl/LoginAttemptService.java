@@ -0,0 +1,101 @@
+package com.e_learning.services.impl;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.e_learning.exceptions.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Tracks failed logins per username and per client IP and rejects further attempts
+ * before any BCrypt work is done. Like {@link RateLimitingService} state is kept per key,
+ * but the maps are size-bounded and idle keys expire once their window has passed.
+ * The client IP is only meaningful when forwarded headers from the proxy are honoured
+ * (server.forward-headers-strategy); a per-IP limit of 0 turns that dimension off.
+ */
+@Service
+public class LoginAttemptService {
+
+	private static final int SLOTS = 10;
+
+	private final Cache<String, SlidingWindowCounter> failuresByUser;
+	private final Cache<String, SlidingWindowCounter> failuresByIp;
+	private final long windowMillis;
+	private final int maxFailuresPerUser;
+	private final int maxFailuresPerIp;
+
+	public LoginAttemptService(
+			@Value("${security.login-throttle.window-seconds:900}") long windowSeconds,
+			@Value("${security.login-throttle.max-failures-per-user:5}") int maxFailuresPerUser,
+			@Value("${security.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+			@Value("${security.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys) {
+		this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+		this.maxFailuresPerUser = maxFailuresPerUser;
+		this.maxFailuresPerIp = maxFailuresPerIp;
+		this.failuresByUser = Caffeine.newBuilder()
+				.maximumSize(maxTrackedKeys)
+				.expireAfterAccess(Duration.ofSeconds(windowSeconds))
+				.build();
+		this.failuresByIp = Caffeine.newBuilder()
+				.maximumSize(maxTrackedKeys)
+				.expireAfterAccess(Duration.ofSeconds(windowSeconds))
+				.build();
+	}
+
+	/**
+	 * Counts the attempt as a failure before the password is checked and returns when it was
+	 * counted; {@link #recordSuccess} takes it back. Counting up front means a burst of parallel
+	 * guesses cannot all pass before the first failure is recorded.
+	 */
+	public long reserve(String username, String clientIp) {
+		long now = System.currentTimeMillis();
+		String user = userKey(username);
+		String ip = ipKey(clientIp);
+		if (user != null && !this.failuresByUser.get(user, k -> newCounter()).tryIncrement(now, this.maxFailuresPerUser)) {
+			throw new RateLimitExceededException("Too many failed login attempts. Please try again later.");
+		}
+		if (ip != null && !this.failuresByIp.get(ip, k -> newCounter()).tryIncrement(now, this.maxFailuresPerIp)) {
+			refund(this.failuresByUser, user, now);
+			throw new RateLimitExceededException("Too many failed login attempts. Please try again later.");
+		}
+		return now;
+	}
+
+	public void recordSuccess(String username, String clientIp, long reservedAt) {
+		String user = userKey(username);
+		if (user != null) {
+			this.failuresByUser.invalidate(user);
+		}
+		refund(this.failuresByIp, ipKey(clientIp), reservedAt);
+	}
+
+	// for an attempt that never got to check the password, e.g. the hashing pool was full
+	public void release(String username, String clientIp, long reservedAt) {
+		refund(this.failuresByUser, userKey(username), reservedAt);
+		refund(this.failuresByIp, ipKey(clientIp), reservedAt);
+	}
+
+	private void refund(Cache<String, SlidingWindowCounter> failures, String key, long reservedAt) {
+		SlidingWindowCounter counter = key == null ? null : failures.getIfPresent(key);
+		if (counter != null) {
+			counter.decrement(reservedAt);
+		}
+	}
+
+	private SlidingWindowCounter newCounter() {
+		return new SlidingWindowCounter(this.windowMillis, SLOTS);
+	}
+
+	// null when the per-IP limit is off, so nothing is tracked or checked for it
+	private String ipKey(String clientIp) {
+		return this.maxFailuresPerIp > 0 ? clientIp : null;
+	}
+
+	private static String userKey(String username) {
+		return username == null ? null : username.trim().toLowerCase(Locale.ROOT);
+	}
+}
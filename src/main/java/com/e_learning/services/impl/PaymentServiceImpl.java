@@ -22,7 +22,9 @@ import com.e_learning.payloads.PaymentDto;
 import com.e_learning.repositories.CategoryRepo;
 import com.e_learning.repositories.PaymentRepo;
 import com.e_learning.repositories.UserRepo;
+import com.e_learning.security.PrincipalCache;
 import com.e_learning.services.PaymentService;
+import com.e_learning.services.impl.ResourceVersions.Resource;
 @Service
 public class PaymentServiceImpl implements PaymentService {
 
@@ -38,10 +40,21 @@ public class PaymentServiceImpl implements PaymentService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private RequestIdentityMap requestIdentityMap;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private TrendingTracker trendingTracker;
+
     @Override
     public PaymentDto createPayment(PaymentDto paymentDto, Integer userId, List<Integer> categoryIds) {
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "User id", userId));
+        User user = this.requestIdentityMap.getUser(userId);
 
         if (categoryIds == null || categoryIds.isEmpty()) {
             throw new IllegalArgumentException("Category IDs cannot be null or empty.");
@@ -158,6 +171,9 @@ public class PaymentServiceImpl implements PaymentService {
 
         user.setFacult(existingFaculties);  // Update the user's faculties
         userRepo.save(user);  // Save the user with the updated faculties
+        principalCache.evict(user.getEmail());
+        resourceVersions.bump(Resource.USERS);
+        trendingTracker.paymentApproved(payment.getCategories());
 
         return modelMapper.map(payment, PaymentDto.class);
     }
@@ -0,0 +1,33 @@
+package com.e_learning.services.impl;
+
+/**
+ * Published after a post is created, updated or deleted.
+ * Carries the category the post was in before the change and the one it is in after,
+ * so listeners can invalidate exactly the categories that were touched.
+ * Either id is null when there is no such side (create has no previous, delete has no current).
+ * The post id is null for a bulk import, which only names the category it filled.
+ */
+public class PostChangedEvent {
+
+	private final Integer postId;
+	private final Integer previousCategoryId;
+	private final Integer categoryId;
+
+	public PostChangedEvent(Integer postId, Integer previousCategoryId, Integer categoryId) {
+		this.postId = postId;
+		this.previousCategoryId = previousCategoryId;
+		this.categoryId = categoryId;
+	}
+
+	public Integer getPostId() {
+		return postId;
+	}
+
+	public Integer getPreviousCategoryId() {
+		return previousCategoryId;
+	}
+
+	public Integer getCategoryId() {
+		return categoryId;
+	}
+}
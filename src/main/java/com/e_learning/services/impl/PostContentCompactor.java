@@ -0,0 +1,49 @@
+package com.e_learning.services.impl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.e_learning.entities.Post;
+import com.e_learning.repositories.PostRepo;
+
+/**
+ * Moves post bodies written before content was compressed into the gzip column, in small
+ * batches after startup. Reads work either way in the meantime, see {@link Post#getContent()}.
+ */
+@Component
+public class PostContentCompactor {
+
+	private static final Logger logger = LoggerFactory.getLogger(PostContentCompactor.class);
+
+	private static final int BATCH = 100;
+
+	@Autowired
+	private PostRepo postRepo;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void compactLegacyContent() {
+		int count = 0;
+		List<Integer> ids;
+		while (!(ids = this.postRepo.findUncompressedIds(PageRequest.of(0, BATCH))).isEmpty()) {
+			List<Integer> batch = ids;
+			// one transaction per batch, the managed posts are flushed on commit
+			this.transactionTemplate.executeWithoutResult(status -> this.postRepo.findAllById(batch)
+					.forEach(post -> post.setContent(post.getContent())));
+			count += batch.size();
+		}
+		if (count > 0) {
+			logger.info("Compressed the content of {} posts", count);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.e_learning.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.e_learning.entities.CompressedText;
+import com.e_learning.payloads.RenderedContent;
+
+/**
+ * Turns raw author markup into the HTML clients display: unsafe elements and attributes are
+ * removed, links get rel="nofollow noopener", images load lazily, and the result is compressed.
+ * Runs when a post is written, so a read never parses markup. When the output changes, bump
+ * {@link #VERSION} (so clients' ETags no longer match) and empty post_rendered_content; each post
+ * is rendered again on its next read.
+ */
+@Component
+public class PostContentRenderer {
+
+	private static final String VERSION = "1";
+
+	private static final String UPSERT = "insert into post_rendered_content (post_id, content_hash, rendered_gz)"
+			+ " values (?, ?, ?) on duplicate key update content_hash = values(content_hash),"
+			+ " rendered_gz = values(rendered_gz)";
+
+	private static final Safelist SAFELIST = Safelist.relaxed()
+			.addTags("figure", "figcaption", "hr", "mark", "s")
+			.addAttributes(":all", "class")
+			.addEnforcedAttribute("a", "rel", "nofollow noopener");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public RenderedContent render(String raw) {
+		String markup = raw == null ? "" : raw;
+		Document clean = new Cleaner(SAFELIST).clean(Jsoup.parseBodyFragment(markup));
+		clean.select("img").attr("loading", "lazy");
+		clean.outputSettings().prettyPrint(false);
+		return new RenderedContent(hash(markup), CompressedText.gzip(clean.body().html()));
+	}
+
+	// renders and stores in one statement, replacing any earlier render of the post
+	public RenderedContent store(Integer postId, String raw) {
+		RenderedContent rendered = render(raw);
+		this.jdbcTemplate.update(UPSERT, postId, rendered.getContentHash(), rendered.getGzip());
+		return rendered;
+	}
+
+	public void delete(Integer postId) {
+		this.jdbcTemplate.update("delete from post_rendered_content where post_id = ?", postId);
+	}
+
+	static String hash(String raw) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(VERSION.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			byte[] sum = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(sum.length * 2);
+			for (byte b : sum) {
+				hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
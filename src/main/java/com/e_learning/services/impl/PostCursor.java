@@ -0,0 +1,88 @@
+package com.e_learning.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.e_learning.entities.Post;
+import com.e_learning.exceptions.ApiException;
+
+/**
+ * Opaque cursor for keyset pagination of posts: sort key, direction and the last (key, postId) pair,
+ * base64url-encoded so clients treat it as a token and do not build their own.
+ */
+final class PostCursor {
+
+	final String sortBy;
+	final boolean ascending;
+	final Object lastKey;
+	final Integer lastPostId;
+
+	private PostCursor(String sortBy, boolean ascending, Object lastKey, Integer lastPostId) {
+		this.sortBy = sortBy;
+		this.ascending = ascending;
+		this.lastKey = lastKey;
+		this.lastPostId = lastPostId;
+	}
+
+	static PostCursor first(String sortBy, String sortDir) {
+		checkSortable(sortBy);
+		return new PostCursor(sortBy, !"desc".equalsIgnoreCase(sortDir), null, null);
+	}
+
+	static PostCursor after(PostCursor previous, Post last) {
+		return new PostCursor(previous.sortBy, previous.ascending, keyOf(previous.sortBy, last), last.getPostId());
+	}
+
+	String encode() {
+		// postId before the key: titles may contain the separator, so the key has to come last
+		String raw = this.sortBy + '|' + (this.ascending ? "asc" : "desc") + '|' + this.lastPostId + '|'
+				+ (this.lastKey == null ? "" : this.lastKey.toString());
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static PostCursor decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|", 4);
+			if (parts.length != 4) {
+				throw new ApiException("Invalid cursor !!");
+			}
+			String sortBy = parts[0];
+			checkSortable(sortBy);
+			Integer lastPostId = Integer.valueOf(parts[2]);
+			return new PostCursor(sortBy, "asc".equals(parts[1]), parseKey(sortBy, parts[3], lastPostId), lastPostId);
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new ApiException("Invalid cursor !!");
+		}
+	}
+
+	private static void checkSortable(String sortBy) {
+		if (!"postId".equals(sortBy) && !"addedDate".equals(sortBy) && !"title".equals(sortBy)) {
+			throw new ApiException("Cursor pagination supports sortBy postId, addedDate or title only !!");
+		}
+	}
+
+	private static Object keyOf(String sortBy, Post post) {
+		switch (sortBy) {
+		case "addedDate":
+			return post.getAddedDate();
+		case "title":
+			return post.getTitle();
+		default:
+			return post.getPostId();
+		}
+	}
+
+	private static Object parseKey(String sortBy, String value, Integer lastPostId) {
+		switch (sortBy) {
+		case "addedDate":
+			return LocalDateTime.parse(value);
+		case "title":
+			return value;
+		default:
+			return lastPostId;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.e_learning.services.impl;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.e_learning.payloads.PostDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Pulls posts one at a time from an uploaded JSON array or CSV file, so an import never holds
+ * the whole upload in memory. {@link #next()} returns null at the end of the input.
+ */
+abstract class PostImportReader implements Closeable {
+
+	abstract PostDto next() throws IOException;
+
+	static PostImportReader json(InputStream in, ObjectMapper objectMapper) throws IOException {
+		return new Json(objectMapper, objectMapper.getFactory().createParser(in));
+	}
+
+	static PostImportReader csv(InputStream in) throws IOException {
+		return new Csv(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+	}
+
+	private static class Json extends PostImportReader {
+
+		private final ObjectMapper objectMapper;
+		private final JsonParser parser;
+
+		Json(ObjectMapper objectMapper, JsonParser parser) throws IOException {
+			this.objectMapper = objectMapper;
+			this.parser = parser;
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IOException("expected a JSON array of posts");
+			}
+		}
+
+		@Override
+		PostDto next() throws IOException {
+			JsonToken token = this.parser.nextToken();
+			if (token == null || token == JsonToken.END_ARRAY) {
+				return null;
+			}
+			return this.objectMapper.readValue(this.parser, PostDto.class);
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.parser.close();
+		}
+	}
+
+	/**
+	 * RFC 4180 CSV with a header line naming the columns (title, content, videoLink, mentor, imageName,
+	 * any order, case-insensitive). Quoted fields may contain commas, doubled quotes and line breaks.
+	 */
+	private static class Csv extends PostImportReader {
+
+		private final Reader reader;
+		private final Map<String, Integer> columns = new HashMap<>();
+		private boolean eof;
+
+		Csv(Reader reader) throws IOException {
+			this.reader = reader;
+			List<String> header = readRecord();
+			if (header == null) {
+				throw new IOException("expected a CSV header line");
+			}
+			for (int i = 0; i < header.size(); i++) {
+				this.columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+			}
+			if (!this.columns.containsKey("title")) {
+				throw new IOException("the CSV header has no title column");
+			}
+		}
+
+		@Override
+		PostDto next() throws IOException {
+			List<String> record;
+			do {
+				record = readRecord();
+			} while (record != null && record.size() == 1 && record.get(0).isEmpty());
+			if (record == null) {
+				return null;
+			}
+			PostDto post = new PostDto();
+			post.setTitle(field(record, "title"));
+			post.setContent(field(record, "content"));
+			post.setVideoLink(field(record, "videolink"));
+			post.setMentor(field(record, "mentor"));
+			post.setImageName(field(record, "imagename"));
+			return post;
+		}
+
+		private String field(List<String> record, String column) {
+			Integer index = this.columns.get(column);
+			return index == null || index >= record.size() ? null : record.get(index);
+		}
+
+		private List<String> readRecord() throws IOException {
+			if (this.eof) {
+				return null;
+			}
+			List<String> fields = new ArrayList<>();
+			StringBuilder field = new StringBuilder();
+			boolean quoted = false;
+			boolean any = false;
+			int c;
+			while ((c = this.reader.read()) != -1) {
+				any = true;
+				if (quoted) {
+					if (c != '"') {
+						field.append((char) c);
+						continue;
+					}
+					this.reader.mark(1);
+					if (this.reader.read() == '"') {
+						field.append('"');
+					} else {
+						this.reader.reset();
+						quoted = false;
+					}
+				} else if (c == '"') {
+					quoted = true;
+				} else if (c == ',') {
+					fields.add(field.toString());
+					field.setLength(0);
+				} else if (c == '\n') {
+					fields.add(field.toString());
+					return fields;
+				} else if (c != '\r') {
+					field.append((char) c);
+				}
+			}
+			this.eof = true;
+			if (!any) {
+				return null;
+			}
+			fields.add(field.toString());
+			return fields;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.reader.close();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.e_learning.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.e_learning.entities.CompressedText;
+import com.e_learning.entities.Post;
+import com.e_learning.entities.PostRevision;
+import com.e_learning.exceptions.ResourceNotFoundException;
+import com.e_learning.payloads.PostRevisionDto;
+import com.e_learning.repositories.PostRevisionRepo;
+
+/**
+ * Revision history of post title and content. Each edit is stored as a delta against the
+ * version before it, with a full snapshot every {@link #SNAPSHOT_EVERY} revisions, so rebuilding
+ * any version applies at most that many deltas. Posts created before the history existed get
+ * their pre-edit state as revision 1 on their first edit. An edit whose pre-edit content is not
+ * what the latest revision rebuilds to is stored as a snapshot, so a bad base never spreads.
+ */
+@Component
+public class PostRevisionStore {
+
+	static final int SNAPSHOT_EVERY = 10;
+
+	@Autowired
+	private PostRevisionRepo postRevisionRepo;
+
+	// called after an edit is saved, with what the post held before it
+	public void record(Post post, String previousTitle, String previousContent) {
+		String content = post.getContent() == null ? "" : post.getContent();
+		String previous = previousContent == null ? "" : previousContent;
+		if (content.equals(previous) && post.getTitle().equals(previousTitle)) {
+			return;
+		}
+
+		PostRevision latest = this.postRevisionRepo.findFirstByPostIdOrderByRevisionDesc(post.getPostId())
+				.orElse(null);
+		boolean chained = latest != null && rebuildsTo(post.getPostId(), latest.getRevision(), previous);
+		if (latest == null) {
+			latest = this.postRevisionRepo
+					.save(snapshot(post.getPostId(), 1, previousTitle, previous, post.getAddedDate()));
+			chained = true;
+		}
+
+		int number = latest.getRevision() + 1;
+		PostRevision revision = snapshot(post.getPostId(), number, post.getTitle(), content, LocalDateTime.now());
+		// a delta is only stored on top of a revision that holds exactly the pre-edit content
+		if (chained && (number - 1) % SNAPSHOT_EVERY != 0) {
+			byte[] delta = ContentDelta.encode(previous.getBytes(StandardCharsets.UTF_8),
+					content.getBytes(StandardCharsets.UTF_8));
+			// a rewrite can make the delta bigger than the snapshot; then the snapshot is cheaper both ways
+			if (delta.length < revision.getData().length) {
+				revision.setSnapshot(false);
+				revision.setData(delta);
+			}
+		}
+		this.postRevisionRepo.save(revision);
+	}
+
+	public List<PostRevisionDto> list(Integer postId) {
+		return this.postRevisionRepo.findSummariesByPostId(postId);
+	}
+
+	public Version rebuild(Integer postId, int number) {
+		List<PostRevision> chain = this.postRevisionRepo.findChain(postId, number);
+		if (chain.isEmpty() || chain.get(chain.size() - 1).getRevision() != number) {
+			throw new ResourceNotFoundException("Post revision", "revision", number);
+		}
+		byte[] content = CompressedText.gunzip(chain.get(0).getData()).getBytes(StandardCharsets.UTF_8);
+		for (PostRevision delta : chain.subList(1, chain.size())) {
+			content = ContentDelta.apply(content, delta.getData());
+		}
+		return new Version(number, chain.get(chain.size() - 1).getTitle(), new String(content, StandardCharsets.UTF_8));
+	}
+
+	// false when the history does not end at this content (an edit made outside it) or cannot be read
+	private boolean rebuildsTo(Integer postId, int number, String content) {
+		try {
+			return rebuild(postId, number).getContent().equals(content);
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	public void delete(Integer postId) {
+		this.postRevisionRepo.deleteByPostId(postId);
+	}
+
+	private static PostRevision snapshot(Integer postId, int number, String title, String content,
+			LocalDateTime addedDate) {
+		PostRevision revision = new PostRevision();
+		revision.setPostId(postId);
+		revision.setRevision(number);
+		revision.setTitle(title);
+		revision.setAddedDate(addedDate);
+		revision.setSnapshot(true);
+		revision.setContentLength(content.length());
+		revision.setData(CompressedText.gzip(content));
+		return revision;
+	}
+
+	public static class Version {
+
+		private final int revision;
+		private final String title;
+		private final String content;
+
+		Version(int revision, String title, String content) {
+			this.revision = revision;
+			this.title = title;
+			this.content = content;
+		}
+
+		public int getRevision() {
+			return revision;
+		}
+
+		public String getTitle() {
+			return title;
+		}
+
+		public String getContent() {
+			return content;
+		}
+	}
+}
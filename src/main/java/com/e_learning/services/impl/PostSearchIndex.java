@@ -0,0 +1,220 @@
+package com.e_learning.services.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.e_learning.entities.CompressedText;
+import com.e_learning.entities.Post;
+import com.e_learning.repositories.PostRepo;
+
+/**
+ * In-process inverted index over post title and content, ranked with BM25.
+ * Title terms count {@value #TITLE_WEIGHT} times, so a title hit outranks the same word in the body.
+ * The index holds postings only, never the text. It is rebuilt at startup and then kept current
+ * by PostServiceImpl on create, update and delete. Each instance keeps its own copy.
+ */
+@Component
+public class PostSearchIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(PostSearchIndex.class);
+
+	private static final int TITLE_WEIGHT = 3;
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final int REBUILD_BATCH = 500;
+	// stored bytes of content loaded at once while rebuilding; a larger single post is loaded alone
+	private static final long REBUILD_BATCH_BYTES = 4L * 1024 * 1024;
+
+	private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+	private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	@Autowired
+	private PostRepo postRepo;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// term -> (postId -> weighted term frequency)
+	private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+	// postId -> distinct terms, needed to take a post out again
+	private final Map<Integer, String[]> documentTerms = new HashMap<>();
+	// postId -> weighted document length
+	private final Map<Integer, Integer> documentLengths = new HashMap<>();
+	private long totalLength;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		long start = System.currentTimeMillis();
+		int count = 0;
+		Integer after = 0;
+		List<Object[]> sizes;
+		// walks the table by primary key reading only ids and sizes, then loads content in groups
+		// of at most REBUILD_BATCH_BYTES, so heap use does not depend on how long the lessons are
+		while (!(sizes = this.postRepo.findSearchSizesAfter(after, PageRequest.of(0, REBUILD_BATCH))).isEmpty()) {
+			List<Integer> ids = new ArrayList<>();
+			long bytes = 0;
+			for (Object[] size : sizes) {
+				long length = ((Number) size[1]).longValue();
+				if (!ids.isEmpty() && bytes + length > REBUILD_BATCH_BYTES) {
+					count += indexRows(ids);
+					ids.clear();
+					bytes = 0;
+				}
+				after = (Integer) size[0];
+				ids.add(after);
+				bytes += length;
+			}
+			count += indexRows(ids);
+		}
+		logger.info("Post search index built: {} posts, {} terms in {} ms", count, this.postings.size(),
+				System.currentTimeMillis() - start);
+	}
+
+	private int indexRows(List<Integer> ids) {
+		List<Object[]> rows = this.postRepo.findSearchRowsByIds(ids);
+		for (Object[] row : rows) {
+			String content = row[3] != null ? CompressedText.gunzip((byte[]) row[3]) : (String) row[2];
+			index((Integer) row[0], (String) row[1], content);
+		}
+		return rows.size();
+	}
+
+	public void index(Post post) {
+		index(post.getPostId(), post.getTitle(), post.getContent());
+	}
+
+	public void index(Integer postId, String title, String content) {
+		Map<String, Integer> frequencies = new HashMap<>();
+		for (String term : tokenize(title)) {
+			frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+		}
+		if (content != null) {
+			for (String term : tokenize(TAGS.matcher(content).replaceAll(" "))) {
+				frequencies.merge(term, 1, Integer::sum);
+			}
+		}
+		int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+		this.lock.writeLock().lock();
+		try {
+			removeLocked(postId);
+			for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+				this.postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(postId, entry.getValue());
+			}
+			this.documentTerms.put(postId, frequencies.keySet().toArray(new String[0]));
+			this.documentLengths.put(postId, length);
+			this.totalLength += length;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Integer postId) {
+		this.lock.writeLock().lock();
+		try {
+			removeLocked(postId);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Post ids matching any of the query terms, best first, for the requested page.
+	 * Cost depends on how many posts contain the query terms, not on the size of the table.
+	 */
+	public List<Integer> search(String query, int pageNumber, int pageSize) {
+		List<String> terms = tokenize(query);
+		int wanted = (pageNumber + 1) * pageSize;
+		if (terms.isEmpty() || wanted <= 0) {
+			return new ArrayList<>();
+		}
+
+		Map<Integer, Double> scores = new HashMap<>();
+		this.lock.readLock().lock();
+		try {
+			int documents = this.documentLengths.size();
+			double averageLength = documents == 0 ? 1 : (double) this.totalLength / documents;
+			for (String term : terms) {
+				Map<Integer, Integer> matches = this.postings.get(term);
+				if (matches == null) {
+					continue;
+				}
+				double idf = Math.log(1 + (documents - matches.size() + 0.5) / (matches.size() + 0.5));
+				for (Map.Entry<Integer, Integer> match : matches.entrySet()) {
+					int tf = match.getValue();
+					double norm = K1 * (1 - B + B * this.documentLengths.get(match.getKey()) / averageLength);
+					scores.merge(match.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+
+		// keep only the best (pageNumber + 1) * pageSize hits instead of sorting every match
+		PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(
+				(a, b) -> a.getValue().equals(b.getValue()) ? Integer.compare(a.getKey(), b.getKey())
+						: Double.compare(a.getValue(), b.getValue()));
+		for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+			best.offer(score);
+			if (best.size() > wanted) {
+				best.poll();
+			}
+		}
+		List<Integer> ranked = new ArrayList<>(best.size());
+		while (!best.isEmpty()) {
+			ranked.add(best.poll().getKey());
+		}
+		List<Integer> page = new ArrayList<>(pageSize);
+		for (int i = ranked.size() - 1 - pageNumber * pageSize; i >= 0 && page.size() < pageSize; i--) {
+			page.add(ranked.get(i));
+		}
+		return page;
+	}
+
+	private void removeLocked(Integer postId) {
+		String[] terms = this.documentTerms.remove(postId);
+		if (terms == null) {
+			return;
+		}
+		for (String term : terms) {
+			Map<Integer, Integer> matches = this.postings.get(term);
+			if (matches != null) {
+				matches.remove(postId);
+				if (matches.isEmpty()) {
+					this.postings.remove(term);
+				}
+			}
+		}
+		Integer length = this.documentLengths.remove(postId);
+		if (length != null) {
+			this.totalLength -= length;
+		}
+	}
+
+	static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null) {
+			return terms;
+		}
+		for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+			if (token.length() > 1) {
+				terms.add(token);
+			}
+		}
+		return terms;
+	}
+}
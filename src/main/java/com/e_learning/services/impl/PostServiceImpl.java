@@ -1,9 +1,16 @@
 package com.e_learning.services.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,6 +18,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.modelmapper.ModelMapper;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,20 +27,38 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.e_learning.config.AppConstants;
 import com.e_learning.entities.Category;
 import com.e_learning.entities.Post;
+import com.e_learning.entities.SyncTombstone;
+import com.e_learning.entities.SyncTombstone.Kind;
 import com.e_learning.entities.User;
+import com.e_learning.exceptions.ApiException;
 import com.e_learning.exceptions.ResourceNotFoundException;
 import com.e_learning.payloads.ApiResponse;
+import com.e_learning.payloads.CategoryDto;
 import com.e_learning.payloads.PostDto;
+import com.e_learning.payloads.PostImportResponse;
 import com.e_learning.payloads.PostResponse;
+import com.e_learning.payloads.PostRevisionDiffDto;
+import com.e_learning.payloads.PostRevisionDto;
+import com.e_learning.payloads.PostSummaryDto;
+import com.e_learning.payloads.RenderedContent;
+import com.e_learning.payloads.UserDto;
 import com.e_learning.repositories.CategoryRepo;
 import com.e_learning.repositories.PostRepo;
+import com.e_learning.repositories.SyncTombstoneRepo;
 import com.e_learning.repositories.UserRepo;
 import com.e_learning.services.PostService;
 import com.e_learning.services.UserService;
+import com.e_learning.services.impl.PostRevisionStore.Version;
+import com.e_learning.services.impl.ResourceVersions.Resource;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import ch.qos.logback.classic.Logger;
 
@@ -47,6 +73,45 @@ public class PostServiceImpl implements PostService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private RequestIdentityMap requestIdentityMap;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private CategoryFeedCache categoryFeedCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private PostRevisionStore postRevisionStore;
+
+    @Autowired
+    private PostContentRenderer postContentRenderer;
+
+    @Autowired
+    private RenderedContentCache renderedContentCache;
+
+    @Autowired
+    private SyncTombstoneRepo syncTombstoneRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // rows per JDBC batch and per transaction
+    private static final int IMPORT_BATCH = 500;
+
     @Autowired
     private UserRepo userRepo;
 
@@ -57,11 +122,9 @@ public class PostServiceImpl implements PostService {
     @Override
     public PostDto createPost(PostDto postDto, Integer userId, Integer categoryId) {
 
-        User user = this.userRepo.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User ", "User id", userId));
+        User user = this.requestIdentityMap.getUser(userId);
 
-        Category category = this.categoryRepo.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "category id ", categoryId));
+        Category category = this.requestIdentityMap.getCategory(categoryId);
 
         Post post = this.modelMapper.map(postDto, Post.class);
         post.setImageName("");
@@ -73,17 +136,120 @@ public class PostServiceImpl implements PostService {
         post.setCategory(category);
 
         Post newPost = this.postRepo.save(post);
+        // rendered before the event, so a read the event invalidates reloads the new render
+        this.postContentRenderer.store(newPost.getPostId(), postDto.getContent());
+        this.postSearchIndex.index(newPost);
+        this.eventPublisher.publishEvent(new PostChangedEvent(newPost.getPostId(), null, categoryId));
+        this.resourceVersions.bump(Resource.POSTS);
 
         return this.modelMapper.map(newPost, PostDto.class);
     }
 
     @Override
+    public PostImportResponse importPosts(Integer userId, Integer categoryId, InputStream body, boolean csv)
+            throws IOException {
+
+        // resolved once for the whole upload
+        User user = this.requestIdentityMap.getUser(userId);
+        Category category = this.requestIdentityMap.getCategory(categoryId);
+
+        PostImportResponse report = new PostImportResponse();
+        List<Post> batch = new ArrayList<>(IMPORT_BATCH);
+        List<Integer> batchRows = new ArrayList<>(IMPORT_BATCH);
+        int row = 0;
+        PostImportReader opened;
+        try {
+            opened = csv ? PostImportReader.csv(body) : PostImportReader.json(body, this.objectMapper);
+        } catch (IOException e) {
+            // not an array, or no header with a title column: nothing was imported, so reject the upload
+            throw new ApiException("unreadable input: " + e.getMessage());
+        }
+        try (PostImportReader reader = opened) {
+            while (true) {
+                PostDto postDto;
+                try {
+                    postDto = reader.next();
+                } catch (IOException | RuntimeException e) {
+                    // the stream cannot be resynchronised after a syntax error, so the import stops here
+                    report.failed(row + 1, null, "unreadable input: " + e.getMessage());
+                    break;
+                }
+                if (postDto == null) {
+                    break;
+                }
+                row++;
+                String title = postDto.getTitle();
+                if (title == null || title.isBlank()) {
+                    report.failed(row, title, "title is required");
+                    continue;
+                }
+                if (title.length() > 100) {
+                    report.failed(row, title, "title is longer than 100 characters");
+                    continue;
+                }
+
+                Post post = new Post();
+                post.setTitle(title);
+                post.setContent(postDto.getContent());
+                post.setImageName(postDto.getImageName() != null ? postDto.getImageName() : "");
+                post.setVideoLink(postDto.getVideoLink());
+                post.setMentor(postDto.getMentor());
+                post.setAddedDate(LocalDateTime.now());
+                post.setUser(user);
+                post.setCategory(category);
+                batch.add(post);
+                batchRows.add(row);
+                if (batch.size() == IMPORT_BATCH) {
+                    writeImportBatch(batch, batchRows, report);
+                }
+            }
+        }
+        writeImportBatch(batch, batchRows, report);
+        // invalid rows were reported as read, saved ones only when their batch was written
+        report.getRows().sort(Comparator.comparingInt(PostImportResponse.Row::getRow));
+
+        if (report.getCreated() > 0) {
+            this.eventPublisher.publishEvent(new PostChangedEvent(null, null, categoryId));
+            this.resourceVersions.bump(Resource.POSTS);
+        }
+        return report;
+    }
+
+    private void writeImportBatch(List<Post> batch, List<Integer> batchRows, PostImportResponse report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> this.postRepo.insertBatch(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                Post post = batch.get(i);
+                report.created(batchRows.get(i), post.getPostId(), post.getTitle());
+                this.postSearchIndex.index(post);
+            }
+        } catch (RuntimeException e) {
+            // the batch was rolled back as a whole, earlier batches stay committed
+            logger.warn("Post import batch of {} rows failed", batch.size(), e);
+            for (int i = 0; i < batch.size(); i++) {
+                report.failed(batchRows.get(i), batch.get(i).getTitle(), "not saved: " + e.getMessage());
+            }
+        }
+        batch.clear();
+        batchRows.clear();
+    }
+
+    // one transaction with the revision it records; the row lock keeps concurrent edits of a post
+    // from chaining their deltas onto the same base
+    @Override
+    @Transactional
     public PostDto updatePost(PostDto postDto, Integer postId) {
 
-        Post post = this.postRepo.findById(postId)
+        Post post = this.postRepo.findByIdForUpdate(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post ", "post id", postId));
 
         Category category = this.categoryRepo.findById(postDto.getCategory().getCategoryId()).get();
+        Integer previousCategoryId = post.getCategory() == null ? null : post.getCategory().getCategoryId();
+        String previousTitle = post.getTitle();
+        String previousContent = post.getContent();
 
         post.setTitle(postDto.getTitle());
         post.setContent(postDto.getContent());
@@ -95,16 +261,45 @@ public class PostServiceImpl implements PostService {
 
 
         Post updatedPost = this.postRepo.save(post);
+        this.postRevisionStore.record(updatedPost, previousTitle, previousContent);
+        if (previousCategoryId != null && !previousCategoryId.equals(category.getCategoryId())) {
+            // clients of the old category must drop it
+            this.syncTombstoneRepo.save(new SyncTombstone(Kind.POST, postId, previousCategoryId));
+        }
+        if (!Objects.equals(previousContent, postDto.getContent())) {
+            this.postContentRenderer.store(postId, postDto.getContent());
+        }
+        String title = updatedPost.getTitle();
+        String content = postDto.getContent();
+        // a rolled-back edit must not reach the index, and a new ETag must not be served before the rows
+        afterCommit(() -> {
+            this.postSearchIndex.index(postId, title, content);
+            this.resourceVersions.bump(Resource.POSTS);
+        });
+        this.eventPublisher.publishEvent(
+                new PostChangedEvent(postId, previousCategoryId, category.getCategoryId()));
         return this.modelMapper.map(updatedPost, PostDto.class);
     }
 
+    // the tombstone commits with the delete, or sync clients would never hear of it
     @Override
+    @Transactional
     public void deletePost(Integer postId) {
 
         Post post = this.postRepo.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post ", "post id", postId));
 
+        Integer categoryId = post.getCategory() == null ? null : post.getCategory().getCategoryId();
         this.postRepo.delete(post);
+        this.postViewCounter.forget(postId);
+        this.postRevisionStore.delete(postId);
+        this.postContentRenderer.delete(postId);
+        this.syncTombstoneRepo.save(new SyncTombstone(Kind.POST, postId, categoryId));
+        afterCommit(() -> {
+            this.postSearchIndex.remove(postId);
+            this.resourceVersions.bump(Resource.POSTS);
+        });
+        this.eventPublisher.publishEvent(new PostChangedEvent(postId, categoryId, null));
 
     }
 
@@ -119,8 +314,8 @@ public class PostServiceImpl implements PostService {
 
         List<Post> allPosts = pagePost.getContent();
 
-        List<PostDto> postDtos = allPosts.stream().map((post) -> this.modelMapper.map(post, PostDto.class))
-                .collect(Collectors.toList());
+        List<PostDto> postDtos = withViews(allPosts.stream().map((post) -> this.modelMapper.map(post, PostDto.class))
+                .collect(Collectors.toList()));
 
         PostResponse postResponse = new PostResponse();
 
@@ -135,11 +330,123 @@ public class PostServiceImpl implements PostService {
         return postResponse;
     }
 
+    @Override
+    public PostResponse getAllPostListing(Integer pageNumber, Integer pageSize, String sortBy, String sortDir) {
+
+        Sort sort = (sortDir.equalsIgnoreCase("asc")) ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        Page<PostSummaryDto> page = this.postRepo.findSummaries(PageRequest.of(pageNumber, pageSize, sort));
+
+        List<PostDto> postDtos = withViews(page.getContent().stream().map(this::listingToDto)
+                .collect(Collectors.toList()));
+
+        PostResponse postResponse = new PostResponse();
+        postResponse.setContent(postDtos);
+        postResponse.setPageNumber(page.getNumber());
+        postResponse.setPageSize(page.getSize());
+        postResponse.setTotalElements(page.getTotalElements());
+        postResponse.setTotalPages(page.getTotalPages());
+        postResponse.setLastPage(page.isLast());
+        return postResponse;
+    }
+
+    private PostDto listingToDto(PostSummaryDto summary) {
+        PostDto postDto = new PostDto();
+        postDto.setPostId(summary.getPostId());
+        postDto.setTitle(summary.getTitle());
+        postDto.setImageName(summary.getImageName());
+        postDto.setVideoLink(summary.getVideoLink());
+        postDto.setAddedDate(summary.getAddedDate());
+        postDto.setMentor(summary.getMentor());
+        if (summary.getCategoryId() != null) {
+            CategoryDto category = new CategoryDto();
+            category.setCategoryId(summary.getCategoryId());
+            category.setCategoryTitle(summary.getCategoryTitle());
+            postDto.setCategory(category);
+        }
+        if (summary.getUserId() != null) {
+            UserDto user = new UserDto();
+            user.setId(summary.getUserId());
+            user.setName(summary.getUserName());
+            postDto.setUser(user);
+        }
+        return postDto;
+    }
+
+    @Override
+    public PostResponse getAllPostByCursor(String cursor, Integer pageSize, String sortBy, String sortDir,
+            boolean withTotal) {
+
+        // PageRequest rejects this for offset pages; here it would end in posts.get(-1)
+        if (pageSize == null || pageSize < 1) {
+            throw new ApiException("Page size must be at least 1 !!");
+        }
+
+        // a cursor carries its own sort, so later pages cannot drift from the first one
+        PostCursor position = (cursor == null || cursor.isBlank()) ? PostCursor.first(sortBy, sortDir)
+                : PostCursor.decode(cursor);
+
+        // one extra row tells whether there is a next page without counting
+        List<Post> posts = this.postRepo.findPageAfter(position.sortBy, position.ascending, position.lastKey,
+                position.lastPostId, pageSize + 1);
+        boolean hasMore = posts.size() > pageSize;
+        if (hasMore) {
+            posts = posts.subList(0, pageSize);
+        }
+
+        List<PostDto> postDtos = withViews(posts.stream().map((post) -> this.modelMapper.map(post, PostDto.class))
+                .collect(Collectors.toList()));
+
+        PostResponse postResponse = new PostResponse();
+        postResponse.setContent(postDtos);
+        postResponse.setPageSize(pageSize);
+        postResponse.setLastPage(!hasMore);
+        postResponse.setNextCursor(hasMore ? PostCursor.after(position, posts.get(posts.size() - 1)).encode() : null);
+        if (withTotal) {
+            long total = this.postRepo.countAllPosts();
+            postResponse.setTotalElements(total);
+            postResponse.setTotalPages((int) ((total + pageSize - 1) / pageSize));
+        } else {
+            postResponse.setTotalElements(-1);
+            postResponse.setTotalPages(-1);
+        }
+        return postResponse;
+    }
+
     @Override
     public PostDto getPostById(Integer postId) {
         Post post = this.postRepo.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "post id", postId));
-        return this.modelMapper.map(post, PostDto.class);
+        PostDto postDto = this.modelMapper.map(post, PostDto.class);
+        postDto.setViews(this.postViewCounter.views(postId));
+        return postDto;
+    }
+
+    // runs once the surrounding transaction has committed, or right away outside of one
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // one lookup for the whole page instead of one per post
+    private List<PostDto> withViews(List<PostDto> postDtos) {
+        Map<Integer, Long> views = this.postViewCounter
+                .views(postDtos.stream().map(PostDto::getPostId).collect(Collectors.toList()));
+        postDtos.forEach(postDto -> postDto.setViews(views.getOrDefault(postDto.getPostId(), 0L)));
+        return postDtos;
+    }
+
+    @Override
+    public RenderedContent getRenderedContent(Integer postId) {
+        return this.renderedContentCache.get(postId);
     }
 
     @Override
@@ -149,8 +456,8 @@ public class PostServiceImpl implements PostService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "category id", categoryId));
         List<Post> posts = this.postRepo.findByCategory(cat);
 
-        List<PostDto> postDtos = posts.stream().map((post) -> this.modelMapper.map(post, PostDto.class))
-                .collect(Collectors.toList());
+        List<PostDto> postDtos = withViews(posts.stream().map((post) -> this.modelMapper.map(post, PostDto.class))
+                .collect(Collectors.toList()));
 
         return postDtos;
     }
@@ -162,74 +469,38 @@ public class PostServiceImpl implements PostService {
                 .orElseThrow(() -> new ResourceNotFoundException("User ", "userId ", userId));
         List<Post> posts = this.postRepo.findByUser(user);
 
-        List<PostDto> postDtos = posts.stream().map((post) -> this.modelMapper.map(post, PostDto.class))
-                .collect(Collectors.toList());
+        List<PostDto> postDtos = withViews(posts.stream().map((post) -> this.modelMapper.map(post, PostDto.class))
+                .collect(Collectors.toList()));
 
         return postDtos;
     }
 
     @Override
-    public List<PostDto> searchPosts(String keyword) {
-        List<Post> posts = this.postRepo.searchByTitle("%" + keyword + "%");
-        List<PostDto> postDtos = posts.stream().map((post) -> this.modelMapper.map(post, PostDto.class)).collect(Collectors.toList());
-        return postDtos;
+    public List<PostDto> searchPosts(String keyword, Integer pageNumber, Integer pageSize) {
+        // ranked ids come from the in-memory index; only the page itself is loaded
+        List<Integer> postIds = this.postSearchIndex.search(keyword, pageNumber, pageSize);
+        Map<Integer, Post> posts = this.postRepo.findAllById(postIds).stream()
+                .collect(Collectors.toMap(Post::getPostId, Function.identity()));
+        List<PostDto> postDtos = postIds.stream().map(posts::get).filter(Objects::nonNull)
+                .map((post) -> this.modelMapper.map(post, PostDto.class)).collect(Collectors.toList());
+        return withViews(postDtos);
     }
 
 
 	@Override
-	public List<PostDto> getPostsByUserFaculty(Integer userId) {
-		// Retrieve user by ID
-        User user = this.userRepo.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "userId", userId));
-        
-        // Get the user's faculty
-        String userFaculty = user.getFaculty();
-
-     // Find the category that matches the user's faculty
-        Category category = this.categoryRepo.findByCategoryTitle(userFaculty);
-        if (category == null) {
-            throw new ResourceNotFoundException("Category", "title", userFaculty);
-        }
-        
-     // Fetch posts associated with the category
-        List<Post> posts = this.postRepo.findByCategory(category);
-     // Convert posts to PostDto
-        List<PostDto> postDtos = posts.stream()
-                                      .map(post -> this.modelMapper.map(post, PostDto.class))
-                                      .collect(Collectors.toList());
-
-        return postDtos;
-
+	public List<PostSummaryDto> getPostsByUserFaculty(Integer userId) {
+		// the caller's own principal already carries the faculty, other users are loaded once
+		String userFaculty = this.requestIdentityMap.getUser(userId).getFaculty();
+		return this.categoryFeedCache.feedByTitle(userFaculty);
 	}
+
 	@Override
-	public List<PostDto> getPostssByUserFacult(Integer userId, String faculty) {
-	    // Retrieve user by ID
-	    User user = this.userRepo.findById(userId)
-	            .orElseThrow(() -> new ResourceNotFoundException("User", "userId", userId));
-	    
-	    // Get the user's faculties (multiple faculties)
-	    List<String> userFacult = user.getFacult();
-	    
-	    // Check if the provided faculty exists in the user's faculty list
-	    if (!userFacult.contains(faculty)) {
-	        throw new ResourceNotFoundException("Faculty", "faculty", faculty);
-	    }
-
-	    // Find the category that matches the provided faculty
-	    Category category = this.categoryRepo.findByCategoryTitle(faculty);
-	    if (category == null) {
-	        throw new ResourceNotFoundException("Category", "title", faculty);
-	    }
-
-	    // Fetch posts associated with the category
-	    List<Post> posts = this.postRepo.findByCategory(category);
-	    
-	    // Convert posts to PostDto
-	    List<PostDto> postDtos = posts.stream()
-	                                  .map(post -> this.modelMapper.map(post, PostDto.class))
-	                                  .collect(Collectors.toList());
-
-	    return postDtos;
+	public List<PostSummaryDto> getPostssByUserFacult(Integer userId, String faculty) {
+		List<String> userFacult = this.requestIdentityMap.getUser(userId).getFacult();
+		if (userFacult == null || !userFacult.contains(faculty)) {
+			throw new ResourceNotFoundException("Faculty", "faculty", faculty);
+		}
+		return this.categoryFeedCache.feedByTitle(faculty);
 	}
 
 //	@Override
@@ -257,18 +528,64 @@ public class PostServiceImpl implements PostService {
 //	}
 	
 	@Override
-    public List<PostDto> getPostsByCategoryId(Integer categoryId) {
-        List<Post> posts = postRepo.findByCategoryCategoryId(categoryId);
-        return posts.stream().map(post -> modelMapper.map(post, PostDto.class)).collect(Collectors.toList());
+    public List<PostSummaryDto> getPostsByCategoryId(Integer categoryId) {
+        return this.categoryFeedCache.feed(categoryId);
     }
 
 	
-}
- 
-    
+	@Override
+	public List<PostSummaryDto> getPostSummariesByCategory(Integer categoryId) {
+		List<PostSummaryDto> posts = this.categoryFeedCache.feed(categoryId);
+		// only an empty feed needs to tell an unknown category from one without posts
+		if (posts.isEmpty() && !this.categoryRepo.existsById(categoryId)) {
+			throw new ResourceNotFoundException("Category", "category id", categoryId);
+		}
+		return posts;
+	}
 
-	
+	@Override
+	public List<PostSummaryDto> getPostSummariesByUser(Integer userId) {
+		if (!this.userRepo.existsById(userId)) {
+			throw new ResourceNotFoundException("User ", "userId ", userId);
+		}
+		return this.postRepo.findSummariesByUserId(userId);
+	}
 
-	
-	
-	
\ No newline at end of file
+	@Override
+	public List<PostSummaryDto> getPostSummariesByUserFaculty(Integer userId) {
+		return getPostsByUserFaculty(userId);
+	}
+
+	@Override
+	public List<PostRevisionDto> getPostRevisions(Integer postId) {
+		if (!this.postRepo.existsById(postId)) {
+			throw new ResourceNotFoundException("Post", "post id", postId);
+		}
+		return this.postRevisionStore.list(postId);
+	}
+
+	@Override
+	public PostRevisionDiffDto diffPostRevisions(Integer postId, int fromRevision, Integer toRevision) {
+		int to = toRevision != null ? toRevision
+				: this.postRevisionStore.list(postId).stream().findFirst()
+						.orElseThrow(() -> new ResourceNotFoundException("Post revision", "post id", postId))
+						.getRevision();
+		Version from = this.postRevisionStore.rebuild(postId, fromRevision);
+		Version target = this.postRevisionStore.rebuild(postId, to);
+		return new PostRevisionDiffDto(from.getRevision(), target.getRevision(), from.getTitle(), target.getTitle(),
+				TextDiff.unified(from.getContent(), target.getContent()));
+	}
+
+	@Override
+	@Transactional
+	public PostDto restorePostRevision(Integer postId, int revision) {
+		Post post = this.postRepo.findByIdForUpdate(postId)
+				.orElseThrow(() -> new ResourceNotFoundException("Post", "post id", postId));
+		Version version = this.postRevisionStore.rebuild(postId, revision);
+		PostDto postDto = this.modelMapper.map(post, PostDto.class);
+		postDto.setTitle(version.getTitle());
+		postDto.setContent(version.getContent());
+		return updatePost(postDto, postId);
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.e_learning.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.e_learning.entities.PostViewCount;
+import com.e_learning.repositories.PostViewCountRepo;
+import com.e_learning.services.impl.ResourceVersions.Resource;
+
+/**
+ * Post view counts without a write per view. Views accumulate in a LongAdder per post
+ * (striped, so concurrent readers of a popular post do not contend) and a scheduled job
+ * adds the deltas to post_view_counts in one batched upsert. A crash loses at most one
+ * flush interval; a normal shutdown flushes first. Each flush bumps the POST_VIEWS version,
+ * so cached listings pick up new counts within one interval.
+ */
+@Component
+public class PostViewCounter {
+
+	private static final Logger logger = LoggerFactory.getLogger(PostViewCounter.class);
+
+	// only for a post that still exists, so a flush racing deletePost cannot bring its row back
+	private static final String UPSERT = "insert into post_view_counts (post_id, views)"
+			+ " select p.post_id, ? from posts p where p.post_id = ?"
+			+ " on duplicate key update views = views + values(views)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PostViewCountRepo postViewCountRepo;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	private final ConcurrentMap<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+
+	// deltas taken out of pending by a flush that has not committed yet; views() still counts them
+	private final ConcurrentMap<Integer, Long> inFlight = new ConcurrentHashMap<>();
+
+	public void record(Integer postId) {
+		this.pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+	}
+
+	// flushed total plus what is still in memory. Memory is read before the table: a delta a flush
+	// moves meanwhile is then counted at least once, so the total never dips (it may briefly count twice)
+	public long views(Integer postId) {
+		long unflushed = pendingViews(postId);
+		long flushed = this.postViewCountRepo.findById(postId).map(PostViewCount::getViews).orElse(0L);
+		return flushed + unflushed;
+	}
+
+	public Map<Integer, Long> views(Collection<Integer> postIds) {
+		Map<Integer, Long> views = new HashMap<>();
+		for (Integer postId : postIds) {
+			views.put(postId, pendingViews(postId));
+		}
+		for (PostViewCount count : this.postViewCountRepo.findAllById(postIds)) {
+			views.merge(count.getPostId(), count.getViews(), Long::sum);
+		}
+		return views;
+	}
+
+	public void forget(Integer postId) {
+		this.pending.remove(postId);
+		this.jdbcTemplate.update("delete from post_view_counts where post_id = ?", postId);
+	}
+
+	@Scheduled(fixedDelayString = "${posts.view-counter.flush-ms:5000}")
+	@PreDestroy
+	public synchronized void flush() {
+		List<Object[]> deltas = new ArrayList<>();
+		for (Map.Entry<Integer, LongAdder> entry : this.pending.entrySet()) {
+			// subtracting exactly what was read keeps increments that race with the flush
+			long delta = entry.getValue().sum();
+			if (delta != 0) {
+				// in flight before it leaves pending, so views() sees it in one or the other
+				this.inFlight.put(entry.getKey(), delta);
+				entry.getValue().add(-delta);
+				deltas.add(new Object[] { delta, entry.getKey() });
+			}
+		}
+		if (deltas.isEmpty()) {
+			return;
+		}
+		try {
+			// all or nothing, so a retry never adds a delta that was already applied
+			this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.batchUpdate(UPSERT, deltas));
+		} catch (RuntimeException e) {
+			// put the deltas back, the next run retries them
+			for (Object[] delta : deltas) {
+				this.pending.computeIfAbsent((Integer) delta[1], id -> new LongAdder()).add((Long) delta[0]);
+			}
+			logger.warn("Flushing {} post view deltas failed, will retry", deltas.size(), e);
+			return;
+		} finally {
+			this.inFlight.clear();
+		}
+		this.resourceVersions.bump(Resource.POST_VIEWS);
+	}
+
+	private long pendingViews(Integer postId) {
+		LongAdder adder = this.pending.get(postId);
+		long pendingViews = adder == null ? 0 : adder.sum();
+		return pendingViews + this.inFlight.getOrDefault(postId, 0L);
+	}
+}
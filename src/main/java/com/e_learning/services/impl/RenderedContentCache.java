@@ -0,0 +1,150 @@
+package com.e_learning.services.impl;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.e_learning.entities.CompressedText;
+import com.e_learning.entities.PostRenderedContent;
+import com.e_learning.exceptions.ResourceNotFoundException;
+import com.e_learning.payloads.RenderedContent;
+import com.e_learning.repositories.PostRenderedContentRepo;
+import com.e_learning.repositories.PostRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Rendered post bodies in memory, bounded by their compressed size. Entries are keyed by
+ * (postId, content hash) and never change; a small postId -> hash map points at the current one
+ * and is the only thing {@link PostChangedEvent} has to drop. That event only reaches this node, so
+ * the map also expires after a short TTL to pick up edits made on other nodes. A miss costs one
+ * primary-key read of post_rendered_content plus one for the post's title and category; a post
+ * that has no render yet (imported, or saved before renders existed) is rendered once from its raw
+ * body and stored.
+ */
+@Component
+public class RenderedContentCache {
+
+	@Autowired
+	private PostRenderedContentRepo postRenderedContentRepo;
+
+	@Autowired
+	private PostRepo postRepo;
+
+	@Autowired
+	private PostContentRenderer postContentRenderer;
+
+	private final Cache<Integer, String> currentHashes;
+
+	private final Cache<Key, RenderedContent> rendered;
+
+	// bumped by every invalidation; a load that saw it move may have read a pre-edit row
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public RenderedContentCache(MeterRegistry meterRegistry,
+			@Value("${posts.rendered-cache.max-posts:10000}") long maxPosts,
+			@Value("${posts.rendered-cache.max-bytes:67108864}") long maxBytes,
+			@Value("${posts.rendered-cache.hash-ttl-seconds:30}") long hashTtlSeconds) {
+		this.currentHashes = Caffeine.newBuilder()
+				.maximumSize(maxPosts)
+				.expireAfterWrite(Duration.ofSeconds(hashTtlSeconds))
+				.build();
+		this.rendered = Caffeine.newBuilder()
+				.maximumWeight(maxBytes)
+				.weigher((Key key, RenderedContent content) -> content.getGzip().length)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.rendered, "renderedContent");
+	}
+
+	public RenderedContent get(Integer postId) {
+		String hash = this.currentHashes.getIfPresent(postId);
+		if (hash != null) {
+			RenderedContent cached = this.rendered.getIfPresent(new Key(postId, hash));
+			if (cached != null) {
+				return cached;
+			}
+		}
+		// the read and render run outside any cache lock; concurrent misses may both load
+		long seen = this.invalidations.get();
+		RenderedContent loaded = load(postId);
+		String loadedHash = loaded.getContentHash();
+		this.rendered.put(new Key(postId, loadedHash), loaded);
+		// an invalidation since the load began means the row may be pre-edit: serve it, don't point at it
+		if (this.invalidations.get() == seen) {
+			if (hash == null) {
+				this.currentHashes.asMap().putIfAbsent(postId, loadedHash);
+			} else {
+				this.currentHashes.asMap().replace(postId, hash, loadedHash);
+			}
+		}
+		return loaded;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event) {
+		// a bulk import names no post; new posts have nothing cached yet
+		if (event.getPostId() == null) {
+			return;
+		}
+		// entries under the old hash are unreachable now and age out by size
+		this.invalidations.incrementAndGet();
+		this.currentHashes.invalidate(event.getPostId());
+	}
+
+	// a title-only edit keeps the hash, but its event drops the pointer and this load replaces the entry
+	private RenderedContent load(Integer postId) {
+		Object[] summary = this.postRepo.findSummaryById(postId).stream().findFirst()
+				.orElseThrow(() -> new ResourceNotFoundException("Post", "post id", postId));
+		RenderedContent loaded = render(postId);
+		loaded.setTitle((String) summary[0]);
+		loaded.setCategoryId((Integer) summary[1]);
+		loaded.setCategoryTitle((String) summary[2]);
+		return loaded;
+	}
+
+	private RenderedContent render(Integer postId) {
+		PostRenderedContent row = this.postRenderedContentRepo.findById(postId).orElse(null);
+		if (row != null) {
+			return new RenderedContent(row.getContentHash(), row.getRenderedGzip());
+		}
+		// one render for a post that predates its render; later reads find the stored row
+		Object[] content = this.postRepo.findContentById(postId).stream().findFirst()
+				.orElseThrow(() -> new ResourceNotFoundException("Post", "post id", postId));
+		String raw = content[0] != null ? CompressedText.gunzip((byte[]) content[0]) : (String) content[1];
+		return this.postContentRenderer.store(postId, raw);
+	}
+
+	private static final class Key {
+
+		private final Integer postId;
+		private final String hash;
+
+		Key(Integer postId, String hash) {
+			this.postId = postId;
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return this.postId.equals(key.postId) && this.hash.equals(key.hash);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.postId, this.hash);
+		}
+	}
+}
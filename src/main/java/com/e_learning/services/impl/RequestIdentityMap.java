@@ -0,0 +1,89 @@
+package com.e_learning.services.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.e_learning.entities.Category;
+import com.e_learning.entities.User;
+import com.e_learning.exceptions.ResourceNotFoundException;
+import com.e_learning.repositories.CategoryRepo;
+import com.e_learning.repositories.UserRepo;
+
+/**
+ * Per-request identity map for the entities owner-scoped writes look up.
+ * When the user asked for is the authenticated caller, the principal from the security
+ * context is reused instead of selecting the same row again. Anything loaded is kept
+ * for the rest of the request. Outside a web request every call simply goes to the repository.
+ */
+@Component
+public class RequestIdentityMap {
+
+	private static final String USERS = RequestIdentityMap.class.getName() + ".users";
+	private static final String CATEGORIES = RequestIdentityMap.class.getName() + ".categories";
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private CategoryRepo categoryRepo;
+
+	public User getUser(Integer userId) {
+		Map<Integer, User> users = requestMap(USERS);
+		User user = users == null ? null : users.get(userId);
+		if (user == null) {
+			user = authenticatedUser(userId);
+		}
+		if (user == null) {
+			user = this.userRepo.findById(userId)
+					.orElseThrow(() -> new ResourceNotFoundException("User", "User id", userId));
+		}
+		if (users != null) {
+			users.put(userId, user);
+		}
+		return user;
+	}
+
+	public Category getCategory(Integer categoryId) {
+		Map<Integer, Category> categories = requestMap(CATEGORIES);
+		Category category = categories == null ? null : categories.get(categoryId);
+		if (category == null) {
+			category = this.categoryRepo.findById(categoryId)
+					.orElseThrow(() -> new ResourceNotFoundException("Category", "category id", categoryId));
+			if (categories != null) {
+				categories.put(categoryId, category);
+			}
+		}
+		return category;
+	}
+
+	// only a principal loaded from the database is complete; self-contained tokens carry id, email and roles only
+	private static User authenticatedUser(Integer userId) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !(authentication.getPrincipal() instanceof User)) {
+			return null;
+		}
+		User principal = (User) authentication.getPrincipal();
+		return principal.getId() == userId && principal.getPassword() != null ? principal : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> Map<Integer, V> requestMap(String name) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return null;
+		}
+		Map<Integer, V> map = (Map<Integer, V>) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+		if (map == null) {
+			map = new HashMap<>();
+			attributes.setAttribute(name, map, RequestAttributes.SCOPE_REQUEST);
+		}
+		return map;
+	}
+}
@@ -0,0 +1,149 @@
+package com.e_learning.services.impl;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Change counters per resource collection, used as HTTP validators for the listing endpoints.
+ * Service mutation methods call {@link #bump(Resource)} after the change is saved; a listing
+ * builds its ETag from every collection its payload embeds (posts carry their user and category).
+ * The counters live in the resource_versions table, so every node behind the load balancer
+ * answers with the same validators. Each node re-reads them at most every
+ * {@code resource-versions.refresh-ms}, which bounds how long it can serve a 304 for a write
+ * made on another node; its own writes are visible at once.
+ */
+@Component
+public class ResourceVersions {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResourceVersions.class);
+
+	public enum Resource {
+		CATEGORIES, POSTS, LIVES, USERS,
+		// flushed post view counts; kept apart from POSTS so only listings that show views depend on it
+		POST_VIEWS
+	}
+
+	// two changes within one second still get different dates, or If-Modified-Since would miss the second one
+	private static final String BUMP = "insert into resource_versions (name, version, last_modified) values (?, 1, ?)"
+			+ " on duplicate key update version = version + 1,"
+			+ " last_modified = greatest(last_modified + 1000, values(last_modified))";
+
+	private static final String SEED = "insert ignore into resource_versions (name, version, last_modified) values (?, 0, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	// bumps commit on their own, also when called from inside or after another transaction
+	private final TransactionTemplate ownTransaction;
+
+	private final long refreshMillis;
+
+	private volatile Snapshot snapshot;
+
+	public ResourceVersions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			@Value("${resource-versions.refresh-ms:1000}") long refreshMillis) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.ownTransaction = new TransactionTemplate(transactionManager);
+		this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.refreshMillis = refreshMillis;
+	}
+
+	public void bump(Resource resource) {
+		try {
+			this.ownTransaction.executeWithoutResult(
+					status -> this.jdbcTemplate.update(BUMP, resource.name(), wholeSecond()));
+		} catch (RuntimeException e) {
+			// the change itself is saved; clients just revalidate later than they should
+			logger.warn("Bumping the {} version failed", resource, e);
+		}
+		this.snapshot = null;
+	}
+
+	public Validator validator(Resource... resources) {
+		Snapshot current = current();
+		StringBuilder etag = new StringBuilder("\"v");
+		long modified = 0;
+		for (Resource resource : resources) {
+			etag.append('-').append(current.versions.get(resource)[0]);
+			modified = Math.max(modified, current.versions.get(resource)[1]);
+		}
+		return new Validator(etag.append('"').toString(), modified);
+	}
+
+	private Snapshot current() {
+		Snapshot current = this.snapshot;
+		long now = System.currentTimeMillis();
+		if (current != null && now - current.loadedAt < this.refreshMillis) {
+			return current;
+		}
+		current = load(now);
+		if (current.versions.size() < Resource.values().length) {
+			// first start against this database: every node seeds the same rows, the first one wins
+			long seeded = wholeSecond();
+			this.ownTransaction.executeWithoutResult(status -> {
+				for (Resource resource : Resource.values()) {
+					this.jdbcTemplate.update(SEED, resource.name(), seeded);
+				}
+			});
+			current = load(now);
+		}
+		this.snapshot = current;
+		return current;
+	}
+
+	private Snapshot load(long now) {
+		Map<Resource, long[]> versions = new EnumMap<>(Resource.class);
+		this.jdbcTemplate.query("select name, version, last_modified from resource_versions", row -> {
+			try {
+				versions.put(Resource.valueOf(row.getString(1)), new long[] { row.getLong(2), row.getLong(3) });
+			} catch (IllegalArgumentException e) {
+				// a row of a resource this version of the code does not know
+			}
+		});
+		return new Snapshot(versions, now);
+	}
+
+	private static long wholeSecond() {
+		// Last-Modified / If-Modified-Since only carry seconds
+		return System.currentTimeMillis() / 1000 * 1000;
+	}
+
+	private static final class Snapshot {
+
+		// resource -> [version, last modified]
+		private final Map<Resource, long[]> versions;
+		private final long loadedAt;
+
+		Snapshot(Map<Resource, long[]> versions, long loadedAt) {
+			this.versions = versions;
+			this.loadedAt = loadedAt;
+		}
+	}
+
+	public static class Validator {
+
+		private final String etag;
+		private final long lastModified;
+
+		Validator(String etag, long lastModified) {
+			this.etag = etag;
+			this.lastModified = lastModified;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+
+		public long getLastModified() {
+			return lastModified;
+		}
+	}
+}
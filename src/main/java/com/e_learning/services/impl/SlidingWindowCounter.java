@@ -0,0 +1,83 @@
+package com.e_learning.services.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free event counter over a sliding time window.
+ * The window is split into a fixed ring of slots; each slot packs (slot epoch << 24 | count) into one long
+ * and is updated with CAS, so concurrent increments never block and memory per counter is constant.
+ */
+public final class SlidingWindowCounter {
+
+	private static final int COUNT_BITS = 24;
+	private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+	private final AtomicLongArray slots;
+	private final long slotMillis;
+
+	public SlidingWindowCounter(long windowMillis, int slotCount) {
+		this.slots = new AtomicLongArray(slotCount);
+		this.slotMillis = Math.max(windowMillis / slotCount, 1);
+	}
+
+	public void increment(long nowMillis) {
+		long epoch = nowMillis / this.slotMillis;
+		int index = (int) (epoch % this.slots.length());
+		while (true) {
+			long current = this.slots.get(index);
+			long next;
+			if ((current >>> COUNT_BITS) == epoch) {
+				if ((current & COUNT_MASK) == COUNT_MASK) {
+					return; // saturated, no point counting further
+				}
+				next = current + 1;
+			} else {
+				next = (epoch << COUNT_BITS) | 1;
+			}
+			if (this.slots.compareAndSet(index, current, next)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Counts one event unless the window already holds {@code limit}. Check and increment are one
+	 * step for callers that all go through here, so parallel callers cannot overshoot the limit.
+	 */
+	public synchronized boolean tryIncrement(long nowMillis, long limit) {
+		if (count(nowMillis) >= limit) {
+			return false;
+		}
+		increment(nowMillis);
+		return true;
+	}
+
+	// takes back an event counted at the given time, unless its slot has been reused since
+	public void decrement(long countedAtMillis) {
+		long epoch = countedAtMillis / this.slotMillis;
+		int index = (int) (epoch % this.slots.length());
+		while (true) {
+			long current = this.slots.get(index);
+			if ((current >>> COUNT_BITS) != epoch || (current & COUNT_MASK) == 0) {
+				return;
+			}
+			if (this.slots.compareAndSet(index, current, current - 1)) {
+				return;
+			}
+		}
+	}
+
+	public long count(long nowMillis) {
+		long epoch = nowMillis / this.slotMillis;
+		long oldest = epoch - this.slots.length() + 1;
+		long total = 0;
+		for (int i = 0; i < this.slots.length(); i++) {
+			long value = this.slots.get(i);
+			long slotEpoch = value >>> COUNT_BITS;
+			if (slotEpoch >= oldest && slotEpoch <= epoch) {
+				total += value & COUNT_MASK;
+			}
+		}
+		return total;
+	}
+}
@@ -0,0 +1,162 @@
+package com.e_learning.services.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.e_learning.entities.Category;
+import com.e_learning.entities.SyncTombstone;
+import com.e_learning.entities.SyncTombstone.Kind;
+import com.e_learning.entities.User;
+import com.e_learning.payloads.CategoryDto;
+import com.e_learning.payloads.ExamSummaryDto;
+import com.e_learning.payloads.LiveStreamingSummaryDto;
+import com.e_learning.payloads.PostSummaryDto;
+import com.e_learning.payloads.SyncResponse;
+import com.e_learning.repositories.CategoryRepo;
+import com.e_learning.repositories.ExamRepo;
+import com.e_learning.repositories.LiveStreamingRepo;
+import com.e_learning.repositories.PostRepo;
+import com.e_learning.repositories.SyncTombstoneRepo;
+import com.e_learning.services.SyncService;
+
+@Service
+public class SyncServiceImpl implements SyncService {
+
+	private static final Logger logger = LoggerFactory.getLogger(SyncServiceImpl.class);
+
+	// re-reads a minute before the watermark: covers writes that committed after a later
+	// timestamp was already visible, and MySQL rounding updated_at to whole seconds
+	private static final Duration OVERLAP = Duration.ofMinutes(1);
+
+	@Autowired
+	private RequestIdentityMap requestIdentityMap;
+
+	@Autowired
+	private CategoryRepo categoryRepo;
+
+	@Autowired
+	private PostRepo postRepo;
+
+	@Autowired
+	private ExamRepo examRepo;
+
+	@Autowired
+	private LiveStreamingRepo liveRepo;
+
+	@Autowired
+	private SyncTombstoneRepo syncTombstoneRepo;
+
+	@Autowired
+	private ModelMapper modelMapper;
+
+	@Value("${sync.tombstone-retention-days:30}")
+	private long retentionDays;
+
+	@Override
+	public SyncResponse sync(Integer userId, String since) {
+		LocalDateTime now = LocalDateTime.now();
+		User user = this.requestIdentityMap.getUser(userId);
+		Set<Integer> held = user.getFacult() == null || user.getFacult().isEmpty() ? new TreeSet<>()
+				: new TreeSet<>(this.categoryRepo.findIdsByCategoryTitleIn(user.getFacult()));
+
+		SyncToken token = since == null || since.isBlank() ? null : SyncToken.decode(since);
+		// tombstones older than the retention are gone, so such a client cannot be brought up to date
+		boolean full = token == null || token.watermark.isBefore(now.minusDays(this.retentionDays));
+
+		SyncResponse response = new SyncResponse();
+		response.setFull(full);
+		response.setToken(new SyncToken(now, held).encode());
+
+		if (full) {
+			response.setCategories(categoryDtos(this.categoryRepo.findAll()));
+			if (!held.isEmpty()) {
+				response.setPosts(this.postRepo.findSummariesByCategoryIds(held));
+				response.setExams(this.examRepo.findSummariesByCategoryIds(held));
+				response.setLives(this.liveRepo.findSummariesByCategoryIds(held));
+			}
+			return response;
+		}
+
+		LocalDateTime from = token.watermark.minus(OVERLAP);
+		Set<Integer> kept = new TreeSet<>(held);
+		kept.retainAll(token.categoryIds);
+		Set<Integer> added = new TreeSet<>(held);
+		added.removeAll(token.categoryIds);
+		Set<Integer> revoked = new TreeSet<>(token.categoryIds);
+		revoked.removeAll(held);
+		response.getRevokedCategoryIds().addAll(revoked);
+
+		response.setCategories(categoryDtos(this.categoryRepo.findByUpdatedAtAfter(from)));
+		// categories gained since the last sync come in full, the rest only as changes
+		if (!added.isEmpty()) {
+			response.getPosts().addAll(this.postRepo.findSummariesByCategoryIds(added));
+			response.getExams().addAll(this.examRepo.findSummariesByCategoryIds(added));
+			response.getLives().addAll(this.liveRepo.findSummariesByCategoryIds(added));
+		}
+		if (!kept.isEmpty()) {
+			response.getPosts().addAll(this.postRepo.findSummariesChangedSince(kept, from));
+			response.getExams().addAll(this.examRepo.findSummariesChangedSince(kept, from));
+			response.getLives().addAll(this.liveRepo.findSummariesChangedSince(kept, from));
+		}
+
+		// a row moved between two held categories is sent as an upsert, not also as a delete,
+		// so the result does not depend on the order the client applies them in
+		Map<Kind, Set<Integer>> upserted = new EnumMap<>(Kind.class);
+		upserted.put(Kind.POST, response.getPosts().stream().map(PostSummaryDto::getPostId).collect(Collectors.toSet()));
+		upserted.put(Kind.EXAM, response.getExams().stream().map(ExamSummaryDto::getExamId).collect(Collectors.toSet()));
+		upserted.put(Kind.LIVE,
+				response.getLives().stream().map(LiveStreamingSummaryDto::getLiveId).collect(Collectors.toSet()));
+		Set<Integer> deletedCategories = new TreeSet<>();
+
+		// a client only holds rows of categories it already had, so only those tombstones matter
+		for (SyncTombstone tombstone : this.syncTombstoneRepo.findByDeletedAtAfter(from)) {
+			if (tombstone.getKind() == Kind.CATEGORY) {
+				deletedCategories.add(tombstone.getEntityId());
+			} else if (token.categoryIds.contains(tombstone.getCategoryId())
+					&& upserted.get(tombstone.getKind()).add(tombstone.getEntityId())) {
+				// add() also keeps a second tombstone of the same row from being listed twice
+				deletedIds(response, tombstone.getKind()).add(tombstone.getEntityId());
+			}
+		}
+		response.getDeletedCategoryIds().addAll(deletedCategories);
+		return response;
+	}
+
+	@Scheduled(cron = "${sync.tombstone-purge-cron:0 30 3 * * *}")
+	public void purgeTombstones() {
+		int purged = this.syncTombstoneRepo.deleteOlderThan(LocalDateTime.now().minusDays(this.retentionDays));
+		if (purged > 0) {
+			logger.info("Purged {} sync tombstones", purged);
+		}
+	}
+
+	private List<Integer> deletedIds(SyncResponse response, Kind kind) {
+		switch (kind) {
+		case POST:
+			return response.getDeletedPostIds();
+		case EXAM:
+			return response.getDeletedExamIds();
+		default:
+			return response.getDeletedLiveIds();
+		}
+	}
+
+	private List<CategoryDto> categoryDtos(List<Category> categories) {
+		return categories.stream().map(category -> this.modelMapper.map(category, CategoryDto.class))
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,56 @@
+package com.e_learning.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import com.e_learning.exceptions.ApiException;
+
+/**
+ * Opaque /sync watermark: when the last sync started and which categories the client then held,
+ * base64url-encoded so clients store it as is. The category set lets the next sync send newly
+ * held categories in full and revoke the ones the user lost.
+ */
+final class SyncToken {
+
+	final LocalDateTime watermark;
+	final Set<Integer> categoryIds;
+
+	SyncToken(LocalDateTime watermark, Set<Integer> categoryIds) {
+		this.watermark = watermark;
+		this.categoryIds = categoryIds;
+	}
+
+	String encode() {
+		long millis = this.watermark.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		String raw = "1|" + millis + '|'
+				+ new TreeSet<>(this.categoryIds).stream().map(String::valueOf).collect(Collectors.joining(","));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static SyncToken decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|", -1);
+			if (parts.length != 3 || !"1".equals(parts[0])) {
+				throw new ApiException("Invalid sync token !!");
+			}
+			LocalDateTime watermark = LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(parts[1])),
+					ZoneId.systemDefault());
+			Set<Integer> categoryIds = new TreeSet<>();
+			for (String id : parts[2].split(",")) {
+				if (!id.isEmpty()) {
+					categoryIds.add(Integer.valueOf(id));
+				}
+			}
+			return new SyncToken(watermark, categoryIds);
+		} catch (IllegalArgumentException e) {
+			throw new ApiException("Invalid sync token !!");
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.e_learning.services.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Unified line diff for showing what changed between two revisions. Lesson HTML often comes
+ * from an editor as one long line, so lines are also broken between adjacent tags. The common
+ * head and tail are trimmed first; the rest goes through an LCS table, and a middle too large for
+ * that is shown as removed and re-added in full rather than spending unbounded memory.
+ */
+final class TextDiff {
+
+	private static final Pattern LINES = Pattern.compile("\\r?\\n|(?<=>)(?=<)");
+
+	private static final int CONTEXT = 3;
+
+	// cells of the LCS table, about 8 MB
+	private static final long MAX_CELLS = 2_000_000;
+
+	private TextDiff() {
+	}
+
+	static List<String> unified(String from, String to) {
+		String[] a = split(from);
+		String[] b = split(to);
+
+		int head = 0;
+		while (head < a.length && head < b.length && a[head].equals(b[head])) {
+			head++;
+		}
+		int tail = 0;
+		while (tail < a.length - head && tail < b.length - head && a[a.length - 1 - tail].equals(b[b.length - 1 - tail])) {
+			tail++;
+		}
+
+		// one op per output line: ' ' kept, '-' only in a, '+' only in b
+		StringBuilder ops = new StringBuilder();
+		List<String> texts = new ArrayList<>();
+		for (int i = 0; i < head; i++) {
+			ops.append(' ');
+			texts.add(a[i]);
+		}
+		middle(a, head, a.length - tail, b, head, b.length - tail, ops, texts);
+		for (int i = a.length - tail; i < a.length; i++) {
+			ops.append(' ');
+			texts.add(a[i]);
+		}
+		return hunks(ops, texts);
+	}
+
+	private static void middle(String[] a, int aFrom, int aTo, String[] b, int bFrom, int bTo, StringBuilder ops,
+			List<String> texts) {
+		int n = aTo - aFrom;
+		int m = bTo - bFrom;
+		if ((long) (n + 1) * (m + 1) > MAX_CELLS) {
+			for (int i = aFrom; i < aTo; i++) {
+				ops.append('-');
+				texts.add(a[i]);
+			}
+			for (int j = bFrom; j < bTo; j++) {
+				ops.append('+');
+				texts.add(b[j]);
+			}
+			return;
+		}
+		// lcs[i][j]: longest common subsequence of a[aFrom + i..] and b[bFrom + j..]
+		int[][] lcs = new int[n + 1][m + 1];
+		for (int i = n - 1; i >= 0; i--) {
+			for (int j = m - 1; j >= 0; j--) {
+				lcs[i][j] = a[aFrom + i].equals(b[bFrom + j]) ? lcs[i + 1][j + 1] + 1
+						: Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+			}
+		}
+		int i = 0;
+		int j = 0;
+		while (i < n || j < m) {
+			if (i < n && j < m && a[aFrom + i].equals(b[bFrom + j])) {
+				ops.append(' ');
+				texts.add(a[aFrom + i]);
+				i++;
+				j++;
+			} else if (i < n && (j == m || lcs[i + 1][j] >= lcs[i][j + 1])) {
+				ops.append('-');
+				texts.add(a[aFrom + i]);
+				i++;
+			} else {
+				ops.append('+');
+				texts.add(b[bFrom + j]);
+				j++;
+			}
+		}
+	}
+
+	private static List<String> hunks(StringBuilder ops, List<String> texts) {
+		List<String> lines = new ArrayList<>();
+		int size = ops.length();
+		int k = 0;
+		while (k < size) {
+			if (ops.charAt(k) == ' ') {
+				k++;
+				continue;
+			}
+			// a hunk starts CONTEXT lines before the first change and runs until CONTEXT unchanged lines follow the last one
+			int start = Math.max(0, k - CONTEXT);
+			int end = k;
+			int unchanged = 0;
+			while (end < size && unchanged <= 2 * CONTEXT) {
+				unchanged = ops.charAt(end) == ' ' ? unchanged + 1 : 0;
+				end++;
+			}
+			end = Math.min(size, end - unchanged + Math.min(unchanged, CONTEXT));
+
+			int aLine = 1;
+			int bLine = 1;
+			for (int x = 0; x < start; x++) {
+				aLine += ops.charAt(x) != '+' ? 1 : 0;
+				bLine += ops.charAt(x) != '-' ? 1 : 0;
+			}
+			int aCount = 0;
+			int bCount = 0;
+			for (int x = start; x < end; x++) {
+				aCount += ops.charAt(x) != '+' ? 1 : 0;
+				bCount += ops.charAt(x) != '-' ? 1 : 0;
+			}
+			lines.add("@@ -" + aLine + "," + aCount + " +" + bLine + "," + bCount + " @@");
+			for (int x = start; x < end; x++) {
+				lines.add(ops.charAt(x) + texts.get(x));
+			}
+			k = end;
+		}
+		return lines;
+	}
+
+	private static String[] split(String text) {
+		return text == null || text.isEmpty() ? new String[0] : LINES.split(text, -1);
+	}
+}
@@ -0,0 +1,85 @@
+package com.e_learning.services.impl;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.e_learning.entities.Category;
+import com.e_learning.payloads.TrendingDto;
+import com.e_learning.repositories.CategoryRepo;
+
+/**
+ * What is hot right now, kept entirely in memory: post reads feed the post list and, through
+ * their category, the category list; answer submissions and payment approvals feed categories
+ * with more weight. Scores halve every trending.half-life-minutes and start from zero after a
+ * restart, which is fine for a "trending" surface.
+ */
+@Component
+public class TrendingTracker {
+
+	// a submitted answer or a paid course says more about interest than one read
+	private static final double READ = 1;
+	private static final double ANSWER = 3;
+	private static final double PAYMENT = 10;
+
+	// candidates kept per list; the endpoints never serve more than this
+	static final int CAPACITY = 100;
+
+	@Autowired
+	private CategoryRepo categoryRepo;
+
+	private final DecayedTopK posts;
+
+	private final DecayedTopK categories;
+
+	public TrendingTracker(@Value("${trending.half-life-minutes:360}") long halfLifeMinutes) {
+		long halfLifeMillis = halfLifeMinutes * 60_000;
+		this.posts = new DecayedTopK(4096, CAPACITY, halfLifeMillis);
+		this.categories = new DecayedTopK(1024, CAPACITY, halfLifeMillis);
+	}
+
+	public void postRead(Integer postId, String title, Integer categoryId, String categoryTitle) {
+		this.posts.record(postId, title, READ);
+		if (categoryId != null) {
+			this.categories.record(categoryId, categoryTitle, READ);
+		}
+	}
+
+	public void answerSubmitted(Category category) {
+		if (category != null) {
+			this.categories.record(category.getCategoryId(), category.getCategoryTitle(), ANSWER);
+		}
+	}
+
+	public void paymentApproved(List<Category> categories) {
+		for (Category category : categories) {
+			this.categories.record(category.getCategoryId(), category.getCategoryTitle(), PAYMENT);
+		}
+	}
+
+	// a deleted post or category must not stay on the list; its sketch cells just decay away
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostChanged(PostChangedEvent event) {
+		if (event.getPreviousCategoryId() != null && event.getCategoryId() == null) {
+			this.posts.remove(event.getPostId());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(CategoryChangedEvent event) {
+		if (!this.categoryRepo.existsById(event.getCategoryId())) {
+			this.categories.remove(event.getCategoryId());
+		}
+	}
+
+	public List<TrendingDto> topPosts(int limit) {
+		return this.posts.top(Math.min(limit, CAPACITY));
+	}
+
+	public List<TrendingDto> topCategories(int limit) {
+		return this.categories.top(Math.min(limit, CAPACITY));
+	}
+}
@@ -29,8 +29,13 @@ import com.e_learning.repositories.OtpRequestRepo;
 import com.e_learning.repositories.PaymentRepo;
 import com.e_learning.repositories.RoleRepo;
 import com.e_learning.repositories.UserRepo;
+import com.e_learning.security.PrincipalCache;
+import com.e_learning.security.RefreshTokenService;
+import com.e_learning.security.TokenDenylist;
+import com.e_learning.security.TokenVersionTable;
 import com.e_learning.services.OtpRequestService;
 import com.e_learning.services.UserService;
+import com.e_learning.services.impl.ResourceVersions.Resource;
 
 
 @Service
@@ -60,6 +65,21 @@ public class UserServiceImpl implements UserService {
 
     @Autowired
 private OtpRequestService sendmsg;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionTable tokenVersionTable;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
     
     @Override
     public UserDto registerNewUser(UserDto userDto) {
@@ -132,7 +152,9 @@ private OtpRequestService sendmsg;
         user.setOtp(userDto.getOtp());
         
         // Save and return updated user with OTP
-        return modelMapper.map(userRepo.save(user), UserDto.class);
+        User updatedUser = userRepo.save(user);
+        this.resourceVersions.bump(Resource.USERS);
+        return modelMapper.map(updatedUser, UserDto.class);
     }
     
     //forget password 
@@ -166,7 +188,12 @@ private OtpRequestService sendmsg;
 	    }
 	    // OTP is valid, proceed to update the password
 	    user.setPassword(passwordEncoder.encode(userDto.getPassword()));
+	    this.tokenVersionTable.bump(user);
 	    User updatedUser = userRepo.save(user);
+	    this.tokenVersionTable.publish(updatedUser);
+	    this.principalCache.evict(updatedUser.getEmail());
+	    this.resourceVersions.bump(Resource.USERS);
+	    this.refreshTokenService.revokeAll(updatedUser.getEmail());
 
 	    return modelMapper.map(updatedUser, UserDto.class);
 		
@@ -177,14 +204,21 @@ private OtpRequestService sendmsg;
     public UserDto updateUser(UserDto userDto, Integer userId) {
         User user = this.userRepo.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "Id", userId));
+        // the email is the token subject, so drop the entry under the old one
+        this.principalCache.evict(user.getEmail());
+        this.refreshTokenService.revokeAll(user.getEmail());
 
         user.setName(userDto.getName());
         user.setEmail(userDto.getEmail());
         user.setPassword(userDto.getPassword());
         user.setCollegename(userDto.getCollegename());
         user.setImageName(userDto.getImageName());
+        this.tokenVersionTable.bump(user);
 
         User updatedUser = this.userRepo.save(user);
+        this.tokenVersionTable.publish(updatedUser);
+        this.principalCache.evict(updatedUser.getEmail());
+        this.resourceVersions.bump(Resource.USERS);
         return this.userToDto(updatedUser);
     }
 
@@ -218,6 +252,22 @@ private OtpRequestService sendmsg;
         User user = this.userRepo.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "Id", userId));
         this.userRepo.delete(user);
+        this.tokenVersionTable.forget(user.getId());
+        this.principalCache.evict(user.getEmail());
+        this.resourceVersions.bump(Resource.USERS);
+        this.refreshTokenService.revokeAll(user.getEmail());
+    }
+
+    @Override
+    public void forceLogout(Integer userId) {
+        User user = this.userRepo.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "Id", userId));
+        this.tokenDenylist.revokeAllFor(user.getEmail());
+        this.refreshTokenService.revokeAll(user.getEmail());
+        // the version bump is persisted, so self-contained tokens are also rejected on other instances
+        this.tokenVersionTable.bump(user);
+        this.tokenVersionTable.publish(this.userRepo.save(user));
+        this.principalCache.evict(user.getEmail());
     }
 
     public User dtoToUser(UserDto userDto) {
@@ -254,7 +304,10 @@ private OtpRequestService sendmsg;
             user.getRoles().clear();  // Clear existing roles
             user.getRoles().add(role);  // Add "teacher" role
             user.setDate_Of_Role_Changed(LocalDateTime.now());  // Update role change date
-            userRepo.save(user);  // Save user
+            tokenVersionTable.bump(user);
+            tokenVersionTable.publish(userRepo.save(user));  // Save user
+            principalCache.evict(email);
+            resourceVersions.bump(Resource.USERS);
             System.out.println("User role changed to Teacher.");
             return;  // Return after role change
         }
@@ -281,8 +334,11 @@ private OtpRequestService sendmsg;
             user.getRoles().add(role);
             user.setDate_Of_Role_Changed(LocalDateTime.now());
             user.setSubscriptionValidDate(LocalDateTime.parse(latestPayment.getValidDate(), FORMATTER));  // Set valid date
+            tokenVersionTable.bump(user);
 
-            userRepo.save(user);  // Save user
+            tokenVersionTable.publish(userRepo.save(user));  // Save user
+            principalCache.evict(email);
+            resourceVersions.bump(Resource.USERS);
             System.out.println("User role changed to Subscribed after valid payment.");
             return;
         }
@@ -392,6 +448,8 @@ private OtpRequestService sendmsg;
         user.setFaculty(userDto.getFaculty());
         logger.info("Faculty from service "+userDto.getFaculty());
         User updatedUser = this.userRepo.save(user);
+        this.principalCache.evict(updatedUser.getEmail());
+        this.resourceVersions.bump(Resource.USERS);
         return this.userToDto(updatedUser);
     }
     
@@ -403,6 +461,8 @@ private OtpRequestService sendmsg;
          user.setFacult(userDto.getFacult());
          logger.info("Faculty from service "+userDto.getFacult());
          User updatedUser = this.userRepo.save(user);
+         this.principalCache.evict(updatedUser.getEmail());
+         this.resourceVersions.bump(Resource.USERS);
          return this.userToDto(updatedUser);
     }
     //----------update discount only-------------
@@ -414,6 +474,8 @@ private OtpRequestService sendmsg;
         user.setDiscount(userDto.getDiscount());
         logger.info("discount from service "+userDto.getDiscount());
         User updatedUser = this.userRepo.save(user);
+        this.principalCache.evict(updatedUser.getEmail());
+        this.resourceVersions.bump(Resource.USERS);
         return this.userToDto(updatedUser);
     }
 
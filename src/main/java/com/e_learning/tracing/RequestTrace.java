@@ -0,0 +1,16 @@
+package com.e_learning.tracing;
+
+/**
+ * Stage timings of the request running on the current thread, kept only to build the sampled log line.
+ */
+final class RequestTrace {
+
+	final long startNanos = System.nanoTime();
+	final long[] stageNanos = new long[Stage.values().length];
+	final int[] stageCalls = new int[Stage.values().length];
+
+	void add(Stage stage, long nanos) {
+		this.stageNanos[stage.ordinal()] += nanos;
+		this.stageCalls[stage.ordinal()]++;
+	}
+}
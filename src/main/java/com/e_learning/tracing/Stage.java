@@ -0,0 +1,15 @@
+package com.e_learning.tracing;
+
+/**
+ * Request stages timed by {@link StageTracer}. Stages nest (repository calls run inside the controller),
+ * so each one is reported inclusive of whatever ran within it.
+ */
+public enum Stage {
+	AUTH_FILTER,
+	USER_LOAD,
+	CONTROLLER,
+	REPOSITORY,
+	MAPPING,
+	SERIALIZATION,
+	TOTAL
+}
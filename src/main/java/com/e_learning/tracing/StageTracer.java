@@ -0,0 +1,105 @@
+package com.e_learning.tracing;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects per-stage request timings into lock-free histograms.
+ * A request's own breakdown is only logged for a sampled fraction of requests and for slow ones,
+ * so the hot path never writes to the console.
+ */
+@Component
+public class StageTracer {
+
+	private static final Logger logger = LoggerFactory.getLogger(StageTracer.class);
+
+	private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+	private final Map<Stage, StageHistogram> histograms = new EnumMap<>(Stage.class);
+
+	private final double logSampleRate;
+	private final long slowRequestNanos;
+
+	public StageTracer(@Value("${tracing.log-sample-rate:0.01}") double logSampleRate,
+			@Value("${tracing.slow-request-ms:1000}") long slowRequestMillis) {
+		for (Stage stage : Stage.values()) {
+			this.histograms.put(stage, new StageHistogram());
+		}
+		this.logSampleRate = logSampleRate;
+		this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+	}
+
+	public void record(Stage stage, long nanos) {
+		this.histograms.get(stage).record(nanos);
+		RequestTrace trace = CURRENT.get();
+		if (trace != null) {
+			trace.add(stage, nanos);
+		}
+	}
+
+	/** Times the given stage from startNanos (a System.nanoTime() reading) to now. */
+	public void recordSince(Stage stage, long startNanos) {
+		record(stage, System.nanoTime() - startNanos);
+	}
+
+	public Map<Stage, StageHistogram> getHistograms() {
+		return this.histograms;
+	}
+
+	public void reset() {
+		this.histograms.values().forEach(StageHistogram::reset);
+	}
+
+	void beginRequest() {
+		CURRENT.set(new RequestTrace());
+	}
+
+	void endRequest(HttpServletRequest request, int status) {
+		RequestTrace trace = CURRENT.get();
+		CURRENT.remove();
+		if (trace == null) {
+			return;
+		}
+		long totalNanos = System.nanoTime() - trace.startNanos;
+		this.histograms.get(Stage.TOTAL).record(totalNanos);
+		boolean slow = totalNanos >= this.slowRequestNanos;
+		if (slow || ThreadLocalRandom.current().nextDouble() < this.logSampleRate) {
+			String line = format(request, status, totalNanos, trace);
+			if (slow) {
+				logger.warn("slow request {}", line);
+			} else {
+				logger.info("sampled request {}", line);
+			}
+		}
+	}
+
+	private static String format(HttpServletRequest request, int status, long totalNanos, RequestTrace trace) {
+		StringBuilder line = new StringBuilder(128).append(request.getMethod()).append(' ')
+				.append(request.getRequestURI()).append(' ').append(status).append(' ').append(millis(totalNanos))
+				.append("ms");
+		for (Stage stage : Stage.values()) {
+			int calls = trace.stageCalls[stage.ordinal()];
+			if (calls > 0) {
+				line.append(' ').append(stage.name().toLowerCase()).append('=')
+						.append(millis(trace.stageNanos[stage.ordinal()])).append("ms");
+				if (calls > 1) {
+					line.append('/').append(calls);
+				}
+			}
+		}
+		return line.toString();
+	}
+
+	private static String millis(long nanos) {
+		return String.format("%.2f", nanos / 1_000_000.0);
+	}
+}
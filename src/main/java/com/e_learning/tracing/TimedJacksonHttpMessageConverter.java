@@ -0,0 +1,34 @@
+package com.e_learning.tracing;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson converter that reports how long writing each response body takes.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+	private final StageTracer stageTracer;
+
+	public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, StageTracer stageTracer) {
+		super(objectMapper);
+		this.stageTracer = stageTracer;
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		long start = System.nanoTime();
+		try {
+			super.writeInternal(object, type, outputMessage);
+		} finally {
+			this.stageTracer.recordSince(Stage.SERIALIZATION, start);
+		}
+	}
+}
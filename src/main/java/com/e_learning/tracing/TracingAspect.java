@@ -0,0 +1,42 @@
+package com.e_learning.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times controller handlers, Spring Data repository calls and ModelMapper mappings.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+	@Autowired
+	private StageTracer stageTracer;
+
+	@Around("within(@org.springframework.web.bind.annotation.RestController *)")
+	public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+		return trace(Stage.CONTROLLER, joinPoint);
+	}
+
+	@Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+	public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return trace(Stage.REPOSITORY, joinPoint);
+	}
+
+	@Around("execution(* org.modelmapper.ModelMapper.map(..))")
+	public Object traceMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+		return trace(Stage.MAPPING, joinPoint);
+	}
+
+	private Object trace(Stage stage, ProceedingJoinPoint joinPoint) throws Throwable {
+		long start = System.nanoTime();
+		try {
+			return joinPoint.proceed();
+		} finally {
+			this.stageTracer.recordSince(stage, start);
+		}
+	}
+}
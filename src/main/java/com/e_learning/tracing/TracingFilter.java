@@ -0,0 +1,36 @@
+package com.e_learning.tracing;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens the per-request trace before any other filter runs and closes it once the response is written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingFilter extends OncePerRequestFilter {
+
+	@Autowired
+	private StageTracer stageTracer;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		this.stageTracer.beginRequest();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			this.stageTracer.endRequest(request, response.getStatus());
+		}
+	}
+}
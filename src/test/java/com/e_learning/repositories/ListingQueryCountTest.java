@@ -0,0 +1,245 @@
+package com.e_learning.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.e_learning.entities.Answer;
+import com.e_learning.entities.Category;
+import com.e_learning.entities.Exam;
+import com.e_learning.entities.LiveStreaming;
+import com.e_learning.entities.Post;
+import com.e_learning.entities.Role;
+import com.e_learning.entities.User;
+import com.e_learning.payloads.AnswerDto;
+import com.e_learning.payloads.ExamDto;
+import com.e_learning.payloads.LiveStreamingDto;
+import com.e_learning.payloads.PostDto;
+
+/**
+ * Statement budgets for the listing endpoints. Each case runs the repository call the service
+ * makes and maps the rows to DTOs the way the service does, inside one session as with open-in-view.
+ * A budget does not depend on the number of rows, so an N+1 coming back fails here.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:listing;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ListingQueryCountTest {
+
+	private static final int ROWS = 12;
+
+	// needed by the application's startup runner, which is not part of the JPA slice
+	@MockBean
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PostRepo postRepo;
+
+	@Autowired
+	private ExamRepo examRepo;
+
+	@Autowired
+	private AnswerRepo answerRepo;
+
+	@Autowired
+	private LiveStreamingRepo liveRepo;
+
+	private final ModelMapper modelMapper = new ModelMapper();
+
+	private Statistics statistics;
+
+	private Category category;
+
+	private User author;
+
+	private Exam exam;
+
+	@BeforeEach
+	void seed() {
+		Role role = new Role();
+		role.setId(9001);
+		role.setName("ROLE_LISTING_TEST");
+		this.entityManager.persist(role);
+
+		this.category = newCategory("Engineering");
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < ROWS; i++) {
+			users.add(newUser(i, role));
+		}
+		this.author = users.get(0);
+		for (int i = 0; i < ROWS; i++) {
+			User user = users.get(i);
+			Post post = new Post();
+			post.setTitle("post " + i);
+			post.setContent("content " + i);
+			post.setAddedDate(LocalDateTime.now().plusSeconds(i));
+			post.setCategory(this.category);
+			post.setUser(i % 2 == 0 ? this.author : user);
+			this.entityManager.persist(post);
+
+			Exam exam = new Exam();
+			exam.setTitle("exam " + i);
+			exam.setAddedDate(LocalDateTime.now());
+			exam.setCategory(this.category);
+			exam.setUser(user);
+			this.entityManager.persist(exam);
+			if (i == 0) {
+				this.exam = exam;
+			}
+
+			Answer answer = new Answer();
+			answer.setContent("answer " + i);
+			answer.setAddedDate(LocalDateTime.now());
+			answer.setExam(this.exam);
+			answer.setUser(user);
+			this.entityManager.persist(answer);
+
+			LiveStreaming live = new LiveStreaming();
+			live.setTitle("live " + i);
+			live.setStreamlink("https://example.org/" + i);
+			live.setCategory(this.category);
+			live.setUser(user);
+			this.entityManager.persist(live);
+		}
+		this.entityManager.flush();
+		// nothing may be served from the persistence context
+		this.entityManager.clear();
+
+		this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.statistics.setStatisticsEnabled(true);
+	}
+
+	@Test
+	void postPage() {
+		// page query + count + roles batch + faculties batch
+		assertStatements(4, ROWS - 2, () -> postDtos(this.postRepo
+				.findAll(PageRequest.of(0, ROWS - 2, Sort.by("addedDate").descending())).getContent()));
+	}
+
+	@Test
+	void postListingPage() {
+		// ?fields= within the listing columns: page query + count, no entities
+		assertStatements(2, ROWS - 2, () -> this.postRepo
+				.findSummaries(PageRequest.of(0, ROWS - 2, Sort.by("addedDate").descending())).getContent());
+	}
+
+	@Test
+	void postCursorPage() {
+		assertStatements(3, ROWS - 2,
+				() -> postDtos(this.postRepo.findPageAfter("addedDate", false, null, null, ROWS - 2)));
+	}
+
+	@Test
+	void postsByCategory() {
+		Category category = this.entityManager.getReference(Category.class, this.category.getCategoryId());
+		this.statistics.clear();
+		assertStatements(3, ROWS, () -> postDtos(this.postRepo.findByCategory(category)));
+	}
+
+	@Test
+	void postsByUser() {
+		User user = this.entityManager.getReference(User.class, this.author.getId());
+		this.statistics.clear();
+		assertStatements(3, ROWS / 2, () -> postDtos(this.postRepo.findByUser(user)));
+	}
+
+	@Test
+	void postSearchPage() {
+		List<Integer> ids = this.postRepo.findAll().stream().map(Post::getPostId).collect(Collectors.toList());
+		this.entityManager.clear();
+		assertStatements(3, ROWS, () -> postDtos(this.postRepo.findAllById(ids)));
+	}
+
+	@Test
+	void exams() {
+		// ExamDto has no user, but the eager roles still load, in one batch
+		assertStatements(2, ROWS, () -> this.examRepo.findAll().stream()
+				.map(exam -> this.modelMapper.map(exam, ExamDto.class)).collect(Collectors.toList()));
+	}
+
+	@Test
+	void answersByExam() {
+		Exam exam = this.entityManager.getReference(Exam.class, this.exam.getExamId());
+		this.statistics.clear();
+		assertStatements(3, ROWS, () -> this.answerRepo.findByExam(exam).stream()
+				.map(answer -> this.modelMapper.map(answer, AnswerDto.class)).collect(Collectors.toList()));
+	}
+
+	@Test
+	void liveStreamings() {
+		assertStatements(3, ROWS, () -> this.liveRepo.findAll().stream()
+				.map(live -> this.modelMapper.map(live, LiveStreamingDto.class)).collect(Collectors.toList()));
+	}
+
+	private List<PostDto> postDtos(List<Post> posts) {
+		return posts.stream().map(post -> this.modelMapper.map(post, PostDto.class)).collect(Collectors.toList());
+	}
+
+	private void assertStatements(long maxStatements, int expectedRows, Supplier<List<?>> listing) {
+		this.statistics.clear();
+		List<?> rows = listing.get();
+		long statements = this.statistics.getPrepareStatementCount();
+		assertEquals(expectedRows, rows.size());
+		assertTrue(statements <= maxStatements,
+				"expected at most " + maxStatements + " statements but " + statements + " were prepared");
+	}
+
+	private Category newCategory(String title) {
+		Category category = new Category();
+		category.setCategoryTitle(title);
+		category.setPrice("100");
+		category.setCategoryType("course");
+		category.setAddedDate(LocalDateTime.now());
+		this.entityManager.persist(category);
+		return category;
+	}
+
+	private User newUser(int i, Role role) {
+		User user = new User();
+		user.setName("user " + i);
+		user.setEmail("user" + i + "@example.org");
+		user.setPassword("Password-123456789");
+		user.setMobileNo(String.format("98%08d", i));
+		user.setFaculty("Engineering");
+		user.setFacult(new ArrayList<>(List.of("Engineering")));
+		user.setRoles(new HashSet<>(Set.of(role)));
+		this.entityManager.persist(user);
+		return user;
+	}
+}
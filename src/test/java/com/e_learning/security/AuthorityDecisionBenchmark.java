@@ -0,0 +1,113 @@
+package com.e_learning.security;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.access.AccessDecisionManager;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.ExpressionBasedAnnotationAttributeFactory;
+import org.springframework.security.access.expression.method.ExpressionBasedPreInvocationAdvice;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreInvocationAuthorizationAdviceVoter;
+import org.springframework.security.access.vote.AffirmativeBased;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import com.e_learning.entities.Role;
+import com.e_learning.entities.User;
+
+/**
+ * Compares the old per-call authority list + SpEL evaluation with interned authorities + cached decisions.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.e_learning.security.AuthorityDecisionBenchmark
+ * The GC profiler output (gc.alloc.rate.norm) shows the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuthorityDecisionBenchmark {
+
+	private static final String EXPRESSION = "hasRole('ADMIN') or hasRole('SUBSCRIBED')";
+
+	private User user;
+	private Authentication authentication;
+	private SimpleMethodInvocation invocation;
+	private Collection<ConfigAttribute> attributes;
+	private AccessDecisionManager spelDecisions;
+	private AccessDecisionManager cachedDecisions;
+
+	@Setup
+	public void setUp() throws NoSuchMethodException {
+		Role subscribed = new Role();
+		subscribed.setId(503);
+		subscribed.setName("ROLE_SUBSCRIBED");
+		this.user = new User();
+		this.user.setEmail("bench@example.com");
+		this.user.getRoles().add(subscribed);
+		this.authentication = new UsernamePasswordAuthenticationToken(this.user, null, this.user.getAuthorities());
+
+		Method securedMethod = AuthorityDecisionBenchmark.class.getMethod("securedListing");
+		this.invocation = new SimpleMethodInvocation(this, securedMethod);
+		this.attributes = List.of(new ExpressionBasedAnnotationAttributeFactory(new DefaultMethodSecurityExpressionHandler())
+				.createPreInvocationAttribute(null, null, EXPRESSION));
+		this.spelDecisions = new AffirmativeBased(
+				List.of(new PreInvocationAuthorizationAdviceVoter(new ExpressionBasedPreInvocationAdvice())));
+		this.cachedDecisions = new CachingAccessDecisionManager(this.spelDecisions);
+	}
+
+	@PreAuthorize(EXPRESSION)
+	public void securedListing() {
+	}
+
+	@Benchmark
+	public Object legacyAuthorities() {
+		// what User.getAuthorities() used to do on every call
+		return this.user.getRoles().stream().map(role -> new SimpleGrantedAuthority(role.getName()))
+				.collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public Object internedAuthorities() {
+		return this.user.getAuthorities();
+	}
+
+	@Benchmark
+	public void spelDecision() {
+		this.spelDecisions.decide(this.authentication, this.invocation, this.attributes);
+	}
+
+	@Benchmark
+	public void cachedDecision() {
+		this.cachedDecisions.decide(this.authentication, this.invocation, this.attributes);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(AuthorityDecisionBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,75 @@
+package com.e_learning.services.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ContentDeltaTest {
+
+	@Test
+	void roundTripsSmallEdits() {
+		String base = lesson(2000);
+		String target = base.substring(0, 5000) + "<p>a new paragraph</p>" + base.substring(5000, 40000)
+				+ base.substring(40100);
+		byte[] delta = assertRoundTrip(base, target);
+		// a few copies and one short insert
+		assertTrue(delta.length < 200, "delta of " + delta.length + " bytes");
+	}
+
+	@Test
+	void roundTripsEdgeCases() {
+		assertRoundTrip("", "");
+		assertRoundTrip("", "short new body");
+		assertRoundTrip("short old body", "");
+		assertRoundTrip("abc", "abd");
+		assertRoundTrip(lesson(50), lesson(50));
+		assertRoundTrip(lesson(50), lesson(50) + lesson(50));
+		assertRoundTrip(lesson(50), "ünïcödé " + lesson(50).substring(7) + " ✓");
+	}
+
+	@Test
+	void roundTripsUnrelatedContent() {
+		Random random = new Random(42);
+		for (int round = 0; round < 20; round++) {
+			byte[] base = new byte[random.nextInt(3000)];
+			byte[] target = new byte[random.nextInt(3000)];
+			random.nextBytes(base);
+			random.nextBytes(target);
+			// reuse some of the base so there is something to copy
+			if (base.length > 100 && target.length > 100) {
+				System.arraycopy(base, 10, target, 50, 50);
+			}
+			assertArrayEquals(target, ContentDelta.apply(base, ContentDelta.encode(base, target)));
+		}
+	}
+
+	@Test
+	void rejectsTheWrongBase() {
+		byte[] base = lesson(200).getBytes(StandardCharsets.UTF_8);
+		byte[] target = (lesson(200) + "<p>more</p>").getBytes(StandardCharsets.UTF_8);
+		byte[] delta = ContentDelta.encode(base, target);
+		assertThrows(UncheckedIOException.class, () -> ContentDelta.apply(new byte[10], delta));
+	}
+
+	private static byte[] assertRoundTrip(String base, String target) {
+		byte[] baseBytes = base.getBytes(StandardCharsets.UTF_8);
+		byte[] targetBytes = target.getBytes(StandardCharsets.UTF_8);
+		byte[] delta = ContentDelta.encode(baseBytes, targetBytes);
+		assertArrayEquals(targetBytes, ContentDelta.apply(baseBytes, delta));
+		return delta;
+	}
+
+	private static String lesson(int paragraphs) {
+		StringBuilder html = new StringBuilder();
+		for (int i = 0; i < paragraphs; i++) {
+			html.append("<p>Paragraph ").append(i).append(" of the lesson body.</p>");
+		}
+		return html.toString();
+	}
+}
@@ -0,0 +1,137 @@
+package com.e_learning.services.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.e_learning.payloads.PostDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PostImportReaderTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void csvColumnsInAnyOrderAndCase() throws IOException {
+		List<PostDto> posts = readCsv("Mentor, TITLE ,videoLink\nAsha,Intro,https://v/1\nRam,Second,\n");
+		assertEquals(2, posts.size());
+		assertEquals("Intro", posts.get(0).getTitle());
+		assertEquals("Asha", posts.get(0).getMentor());
+		assertEquals("https://v/1", posts.get(0).getVideoLink());
+		assertEquals("", posts.get(1).getVideoLink());
+		// columns the header does not name stay null
+		assertNull(posts.get(0).getContent());
+		assertNull(posts.get(0).getImageName());
+	}
+
+	@Test
+	void csvQuotedFields() throws IOException {
+		List<PostDto> posts = readCsv("title,content\r\n"
+				+ "\"Commas, inside\",\"He said \"\"hi\"\"\"\r\n"
+				+ "Multi,\"<p>one</p>\r\n<p>two</p>\nthree\"\r\n"
+				+ "Empty,\"\"\r\n");
+		assertEquals(3, posts.size());
+		assertEquals("Commas, inside", posts.get(0).getTitle());
+		assertEquals("He said \"hi\"", posts.get(0).getContent());
+		assertEquals("<p>one</p>\r\n<p>two</p>\nthree", posts.get(1).getContent());
+		assertEquals("", posts.get(2).getContent());
+	}
+
+	@Test
+	void csvSkipsBlankLinesAndReadsLastLineWithoutNewline() throws IOException {
+		List<PostDto> posts = readCsv("title\n\nfirst\r\n\r\nlast");
+		assertEquals(2, posts.size());
+		assertEquals("first", posts.get(0).getTitle());
+		assertEquals("last", posts.get(1).getTitle());
+	}
+
+	@Test
+	void csvShortRowLeavesMissingColumnsNull() throws IOException {
+		List<PostDto> posts = readCsv("title,content,mentor\nonly title\n");
+		assertEquals("only title", posts.get(0).getTitle());
+		assertNull(posts.get(0).getContent());
+		assertNull(posts.get(0).getMentor());
+	}
+
+	@Test
+	void csvKeepsUnicode() throws IOException {
+		assertEquals("नेपाली पाठ ✓", readCsv("title\nनेपाली पाठ ✓\n").get(0).getTitle());
+	}
+
+	@Test
+	void csvNeedsHeaderWithTitle() {
+		assertThrows(IOException.class, () -> PostImportReader.csv(stream("")));
+		assertThrows(IOException.class, () -> PostImportReader.csv(stream("content,mentor\nx,y\n")));
+	}
+
+	@Test
+	void csvStreamsManyRows() throws IOException {
+		StringBuilder csv = new StringBuilder("title,content\n");
+		for (int i = 0; i < 5000; i++) {
+			csv.append("\"post ").append(i).append("\",\"line one\nline, two\"\n");
+		}
+		List<PostDto> posts = readCsv(csv.toString());
+		assertEquals(5000, posts.size());
+		assertEquals("post 4999", posts.get(4999).getTitle());
+		assertEquals("line one\nline, two", posts.get(4999).getContent());
+	}
+
+	@Test
+	void jsonArray() throws IOException {
+		List<PostDto> posts = new ArrayList<>();
+		try (PostImportReader reader = PostImportReader.json(
+				stream("[{\"title\":\"a\",\"content\":\"<p>x</p>\"}, {\"title\":\"b\",\"mentor\":\"m\"}]"),
+				this.objectMapper)) {
+			for (PostDto post; (post = reader.next()) != null;) {
+				posts.add(post);
+			}
+		}
+		assertEquals(2, posts.size());
+		assertEquals("<p>x</p>", posts.get(0).getContent());
+		assertEquals("m", posts.get(1).getMentor());
+	}
+
+	@Test
+	void jsonEmptyArray() throws IOException {
+		try (PostImportReader reader = PostImportReader.json(stream(" [ ] "), this.objectMapper)) {
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	void jsonMustBeAnArray() {
+		assertThrows(IOException.class, () -> PostImportReader.json(stream("{\"title\":\"a\"}"), this.objectMapper));
+	}
+
+	@Test
+	void jsonSyntaxErrorAfterGoodRows() throws IOException {
+		try (PostImportReader reader = PostImportReader.json(stream("[{\"title\":\"a\"}, {\"title\": }]"),
+				this.objectMapper)) {
+			assertEquals("a", reader.next().getTitle());
+			assertThrows(IOException.class, reader::next);
+		}
+	}
+
+	private static List<PostDto> readCsv(String csv) throws IOException {
+		List<PostDto> posts = new ArrayList<>();
+		try (PostImportReader reader = PostImportReader.csv(stream(csv))) {
+			for (PostDto post; (post = reader.next()) != null;) {
+				posts.add(post);
+			}
+		}
+		return posts;
+	}
+
+	private static InputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,181 @@
+package com.e_learning.services.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.e_learning.entities.Category;
+import com.e_learning.entities.Post;
+import com.e_learning.entities.User;
+import com.e_learning.exceptions.ApiException;
+import com.e_learning.payloads.PostImportResponse;
+import com.e_learning.payloads.PostImportResponse.Row;
+import com.e_learning.repositories.PostRepo;
+import com.e_learning.services.impl.ResourceVersions.Resource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The per-row report of PostServiceImpl.importPosts: every input row gets exactly one entry, in
+ * input order, whether it was invalid, lost with a failed batch, or saved.
+ */
+@ExtendWith(MockitoExtension.class)
+class PostImportReportTest {
+
+	@Mock
+	private PostRepo postRepo;
+
+	@Mock
+	private RequestIdentityMap requestIdentityMap;
+
+	@Mock
+	private PostSearchIndex postSearchIndex;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private ResourceVersions resourceVersions;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@InjectMocks
+	private PostServiceImpl postService;
+
+	private final AtomicInteger ids = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(this.requestIdentityMap.getUser(1)).thenReturn(new User());
+		lenient().when(this.requestIdentityMap.getCategory(2)).thenReturn(new Category());
+		lenient().doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(this.transactionTemplate).executeWithoutResult(any());
+		lenient().doAnswer(invocation -> {
+			invocation.<List<Post>>getArgument(0).forEach(post -> post.setPostId(this.ids.incrementAndGet()));
+			return null;
+		}).when(this.postRepo).insertBatch(anyList());
+	}
+
+	@Test
+	void invalidRowsAreReportedAndTheRestSaved() throws IOException {
+		String longTitle = "x".repeat(101);
+		PostImportResponse report = importCsv("title,content\nfirst,a\n,b\n" + longTitle + ",c\nlast,d\n");
+
+		assertEquals(2, report.getCreated());
+		assertEquals(2, report.getFailed());
+		assertRow(report.getRows().get(0), 1, PostImportResponse.CREATED, null);
+		assertRow(report.getRows().get(1), 2, PostImportResponse.FAILED, "title is required");
+		assertRow(report.getRows().get(2), 3, PostImportResponse.FAILED, "title is longer than 100 characters");
+		assertRow(report.getRows().get(3), 4, PostImportResponse.CREATED, null);
+		assertNotNull(report.getRows().get(3).getPostId());
+		verify(this.resourceVersions).bump(Resource.POSTS);
+	}
+
+	@Test
+	void failedBatchFailsOnlyItsOwnRows() throws IOException {
+		AtomicInteger batches = new AtomicInteger();
+		doAnswer(invocation -> {
+			if (batches.incrementAndGet() == 1) {
+				throw new IllegalStateException("duplicate key");
+			}
+			invocation.<List<Post>>getArgument(0).forEach(post -> post.setPostId(this.ids.incrementAndGet()));
+			return null;
+		}).when(this.postRepo).insertBatch(anyList());
+
+		StringBuilder csv = new StringBuilder("title\n");
+		for (int i = 1; i <= 600; i++) {
+			csv.append("post ").append(i).append('\n');
+		}
+		PostImportResponse report = importCsv(csv.toString());
+
+		assertEquals(100, report.getCreated());
+		assertEquals(500, report.getFailed());
+		assertEquals(600, report.getRows().size());
+		for (int i = 0; i < 500; i++) {
+			Row row = report.getRows().get(i);
+			assertRow(row, i + 1, PostImportResponse.FAILED, null);
+			assertTrue(row.getMessage().contains("duplicate key"));
+			assertNull(row.getPostId());
+		}
+		assertRow(report.getRows().get(599), 600, PostImportResponse.CREATED, null);
+	}
+
+	@Test
+	void unreadableInputStopsTheImportAfterSavingWhatCameBefore() throws IOException {
+		PostImportResponse report = this.postService.importPosts(1, 2,
+				stream("[{\"title\":\"a\"},{\"title\":\"b\"},{\"title\": ]"), false);
+
+		assertEquals(2, report.getCreated());
+		assertEquals(1, report.getFailed());
+		Row failed = report.getRows().get(2);
+		assertEquals(3, failed.getRow());
+		assertTrue(failed.getMessage().startsWith("unreadable input"));
+	}
+
+	@Test
+	void badFormatIsRejectedBeforeAnyRow() {
+		assertThrows(ApiException.class, () -> importCsv("content,mentor\nx,y\n"));
+		assertThrows(ApiException.class, () -> importCsv(""));
+		assertThrows(ApiException.class,
+				() -> this.postService.importPosts(1, 2, stream("{\"title\":\"a\"}"), false));
+		verify(this.postRepo, never()).insertBatch(anyList());
+	}
+
+	@Test
+	void nothingCreatedLeavesVersionsAlone() throws IOException {
+		PostImportResponse report = importCsv("title\n \n");
+
+		assertEquals(0, report.getCreated());
+		assertEquals(1, report.getFailed());
+		verify(this.postRepo, never()).insertBatch(anyList());
+		verify(this.resourceVersions, never()).bump(any());
+	}
+
+	private PostImportResponse importCsv(String csv) throws IOException {
+		return this.postService.importPosts(1, 2, stream(csv), true);
+	}
+
+	private static void assertRow(Row row, int number, String status, String message) {
+		assertEquals(number, row.getRow());
+		assertEquals(status, row.getStatus());
+		if (message != null) {
+			assertEquals(message, row.getMessage());
+		}
+	}
+
+	private static InputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,63 @@
+package com.e_learning.services.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TextDiffTest {
+
+	@Test
+	void identicalTextHasNoHunks() {
+		assertTrue(TextDiff.unified("a\nb\nc", "a\nb\nc").isEmpty());
+		assertTrue(TextDiff.unified(null, "").isEmpty());
+	}
+
+	@Test
+	void changedLineWithContext() {
+		assertEquals(List.of("@@ -2,7 +2,7 @@", " 2", " 3", " 4", "-5", "+five", " 6", " 7", " 8"),
+				TextDiff.unified(lines(1, 10), lines(1, 10).replace("\n5\n", "\nfive\n")));
+	}
+
+	@Test
+	void insertAndDelete() {
+		assertEquals(List.of("@@ -1,3 +1,4 @@", " 1", "+1.5", " 2", " 3"),
+				TextDiff.unified("1\n2\n3", "1\n1.5\n2\n3"));
+		assertEquals(List.of("@@ -1,3 +1,2 @@", " 1", "-2", " 3"), TextDiff.unified("1\n2\n3", "1\n3"));
+		assertEquals(List.of("@@ -1,0 +1,2 @@", "+a", "+b"), TextDiff.unified("", "a\nb"));
+	}
+
+	@Test
+	void distantChangesGetSeparateHunks() {
+		String from = lines(1, 30);
+		String to = from.replace("\n3\n", "\nthree\n").replace("\n27\n", "\ntwenty-seven\n");
+		List<String> diff = TextDiff.unified(from, to);
+		assertEquals(2, diff.stream().filter(line -> line.startsWith("@@")).count());
+		assertEquals("@@ -24,7 +24,7 @@", diff.get(diff.indexOf("+three") + 4));
+	}
+
+	@Test
+	void splitsOneLineHtmlBetweenTags() {
+		assertEquals(List.of("@@ -1,3 +1,3 @@", " <h1>Title</h1>", "-<p>old</p>", "+<p>new</p>", " <p>end</p>"),
+				TextDiff.unified("<h1>Title</h1><p>old</p><p>end</p>", "<h1>Title</h1><p>new</p><p>end</p>"));
+	}
+
+	@Test
+	void oversizedMiddleIsReplacedWholesale() {
+		String from = lines(0, 3000);
+		String to = lines(5000, 8000);
+		List<String> diff = TextDiff.unified(from, to);
+		assertEquals(3001, diff.stream().filter(line -> line.startsWith("-")).count());
+		assertEquals(3001, diff.stream().filter(line -> line.startsWith("+")).count());
+	}
+
+	private static String lines(int from, int to) {
+		StringBuilder text = new StringBuilder();
+		for (int i = from; i < to; i++) {
+			text.append(i).append('\n');
+		}
+		return text.append(to).toString();
+	}
+}